@@ -0,0 +1,3201 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.os.SystemClock;
+import android.support.v4.view.AccessibilityDelegateCompat;
+import android.support.v4.view.GravityCompat;
+import android.support.v4.view.KeyEventCompat;
+import android.support.v4.view.MotionEventCompat;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.ViewGroupCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.Gravity;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewStub;
+import android.view.WindowManager;
+import android.view.accessibility.AccessibilityEvent;
+
+/**
+ * AbsDrawerLayout is the drawer engine shared by {@link DrawerLayout},
+ * {@link BottomDrawerLayout} and {@link AllDrawerLayout}. It acts as a
+ * top-level container for window content that allows for interactive "drawer"
+ * views to be pulled out from the edges of the window.
+ * 
+ * <p>
+ * A subclass chooses which edges may hold a drawer by passing a mask of
+ * <code>ViewDragHelper.EDGE_*</code> flags to the constructor. Everything else,
+ * from measuring and layout through dragging, settling, shadows, the scrim,
+ * lock modes and instrumentation, is handled here once for every edge. A
+ * single {@link ViewDragHelper} tracks all enabled edges.
+ * </p>
+ * 
+ * <p>
+ * Drawer positioning and layout is controlled using the
+ * <code>android:layout_gravity</code> attribute on child views corresponding to
+ * which edge the drawer emerges from. Position your primary content view as
+ * the first child with a width and height of <code>match_parent</code> and add
+ * drawers after it.
+ * </p>
+ */
+public abstract class AbsDrawerLayout extends ViewGroup {
+	private static final String TAG = "DrawerLayout";
+
+	/**
+	 * Indicates that any drawers are in an idle, settled state. No animation is
+	 * in progress.
+	 */
+	public static final int STATE_IDLE = ViewDragHelper.STATE_IDLE;
+
+	/**
+	 * Indicates that a drawer is currently being dragged by the user.
+	 */
+	public static final int STATE_DRAGGING = ViewDragHelper.STATE_DRAGGING;
+
+	/**
+	 * Indicates that a drawer is in the process of settling to a final
+	 * position.
+	 */
+	public static final int STATE_SETTLING = ViewDragHelper.STATE_SETTLING;
+
+	/**
+	 * The drawer is unlocked.
+	 */
+	public static final int LOCK_MODE_UNLOCKED = 0;
+
+	/**
+	 * The drawer is locked closed. The user may not open it, though the app may
+	 * open it programmatically.
+	 */
+	public static final int LOCK_MODE_LOCKED_CLOSED = 1;
+
+	/**
+	 * The drawer is locked open. The user may not close it, though the app may
+	 * close it programmatically.
+	 */
+	public static final int LOCK_MODE_LOCKED_OPEN = 2;
+
+	/**
+	 * Drawers are drawn normally while they move.
+	 */
+	public static final int LAYER_MODE_NONE = 0;
+
+	/**
+	 * A drawer that is being dragged or is settling is rendered into a
+	 * hardware layer until it comes to rest.
+	 */
+	public static final int LAYER_MODE_DRAWER = 1;
+
+	/**
+	 * As {@link #LAYER_MODE_DRAWER}, and the content view is rendered into a
+	 * hardware layer as well.
+	 */
+	public static final int LAYER_MODE_DRAWER_AND_CONTENT = 2;
+
+	/**
+	 * Drawers are moved by offsetting their layout position.
+	 */
+	public static final int MOVE_MODE_OFFSET = ViewDragHelper.MOVE_MODE_OFFSET;
+
+	/**
+	 * Drawers are laid out in their closed position and moved with
+	 * translationX and translationY.
+	 */
+	public static final int MOVE_MODE_TRANSLATION = ViewDragHelper.MOVE_MODE_TRANSLATION;
+
+	private static final int MIN_DRAWER_MARGIN = 64; // dp
+
+	private static final int DEFAULT_SCRIM_COLOR = 0x99000000;
+
+	/**
+	 * Length of time to delay before peeking the drawer.
+	 */
+	private static final int PEEK_DELAY = 160; // ms
+
+	/**
+	 * Minimum velocity that will be detected as a fling
+	 */
+	private static final int MIN_FLING_VELOCITY = 400; // dips per second
+
+	/**
+	 * Vsync interval to assume until the display's refresh rate is known.
+	 */
+	private static final long DEFAULT_FRAME_INTERVAL = 16666667; // ns
+
+	/**
+	 * Experimental feature.
+	 */
+	private static final boolean ALLOW_EDGE_LOCK = false;
+
+	private static final boolean CHILDREN_DISALLOW_INTERCEPT = true;
+
+	private static final float TOUCH_SLOP_SENSITIVITY = 1.f;
+
+	private static final int[] LAYOUT_ATTRS = new int[] { android.R.attr.layout_gravity };
+
+	/**
+	 * Absolute gravities of every possible drawer edge, along with the edge
+	 * flag that enables it.
+	 */
+	private static final int[] EDGE_GRAVITIES = new int[] { Gravity.LEFT, Gravity.RIGHT, Gravity.TOP, Gravity.BOTTOM };
+	private static final int[] EDGE_FLAGS = new int[] { ViewDragHelper.EDGE_LEFT, ViewDragHelper.EDGE_RIGHT,
+			ViewDragHelper.EDGE_TOP, ViewDragHelper.EDGE_BOTTOM };
+
+	/**
+	 * Absolute gravities of the enabled drawer edges, in drawer index order.
+	 */
+	private final int[] mDrawerGravities;
+
+	private int mMinDrawerMargin;
+
+	private int mScrimColor = DEFAULT_SCRIM_COLOR;
+	private float mScrimOpacity;
+	private Paint mScrimPaint = new Paint();
+
+	// Bounds of the content left uncovered by opaque drawers, also used for
+	// the scrim. Recomputed along with mScrimOpacity only when a drawer moves
+	// or the layout changes, not on every frame.
+	private final Rect mContentClip = new Rect();
+	// Reused by invalidateDrawerMotion
+	private final Rect mMotionDirty = new Rect();
+	private boolean mContentClipDirty = true;
+
+	// One helper tracks every enabled edge; the callback routes each drag to
+	// the drawer matching the touched edge or the captured child's gravity.
+	final ViewDragHelper mDragger;
+	private final ViewDragCallback mCallback;
+	// Picks one edge when a touch lands on two, as in a corner
+	private final EdgeArbiter mEdgeArbiter;
+	// Lock modes by drawer index
+	private final int[] mLockModes;
+	private Drawable mShadowLeft;
+	private Drawable mShadowRight;
+	private Drawable mShadowTop;
+	private Drawable mShadowBottom;
+
+	private int mDrawerState;
+	private boolean mInLayout;
+	boolean mFirstLayout = true;
+
+	// Skip measuring and laying out closed drawers; see setLazyDrawers
+	private boolean mLazyDrawers;
+	private int mLastWidthMeasureSpec;
+	private int mLastHeightMeasureSpec;
+
+	boolean mDisallowInterceptRequested;
+	private boolean mChildrenCanceledTouch;
+
+	// Drawer children by index into mDrawerGravities. Rebuilt lazily when the
+	// children, their LayoutParams or the layout direction change.
+	private final View[] mDrawers;
+	private boolean mDrawerIndexDirty = true;
+	// Hierarchy listener set by the app; ours marks the drawer index dirty
+	// and passes the calls on
+	private OnHierarchyChangeListener mOnHierarchyChangeListener;
+
+	// Settle engines by index into mDrawerGravities; null settles with the
+	// ViewDragHelper's default scroller.
+	private final DrawerSettleEngine[] mSettleEngines;
+
+	private int mLayerMode = LAYER_MODE_NONE;
+	// Views promoted to a hardware layer for the current motion
+	private View mLayerDrawer;
+	private View mLayerContent;
+
+	// Listener installed through setDrawerListener, also present in
+	// mListeners
+	private DrawerListener mListener;
+	final ArrayList<DrawerListener> mListeners = new ArrayList<DrawerListener>();
+
+	// Deliver onDrawerSlide once per frame instead of once per position change
+	private boolean mCoalesceSlides;
+	private boolean mSlideDispatchPosted;
+	private final Runnable mSlideDispatchRunnable = new Runnable() {
+		@Override
+		public void run() {
+			mSlideDispatchPosted = false;
+			dispatchPendingSlides();
+		}
+	};
+	private DrawerTracer mTracer;
+	private GestureRecorder mGestureRecorder;
+	private DrawerMetrics mDrawerMetrics;
+	private GestureLatencyProbe mLatencyProbe;
+	private DrawerTuner mDrawerTuner;
+	private AllocationCheck mAllocationCheck;
+
+	// Drives settling from vsync while the drag helper is settling, and
+	// reports vsync to the helper's touch prediction while dragging
+	private boolean mSettleFramePosted;
+	private long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL;
+	private final Choreographer.FrameCallback mSettleFrameCallback = new Choreographer.FrameCallback() {
+		@Override
+		public void doFrame(long frameTimeNanos) {
+			mSettleFramePosted = false;
+			mDragger.setFrameTime(frameTimeNanos, mFrameIntervalNanos);
+			if (AllocationCheck.ENABLED && mAllocationCheck != null) {
+				mAllocationCheck.begin();
+			}
+			final boolean settling = mDragger.continueSettling(false);
+			final boolean sideSettling = stepSideSettles(frameTimeNanos);
+			if (AllocationCheck.ENABLED && mAllocationCheck != null) {
+				// The last frame goes idle and ends the session before app
+				// callbacks run, so they are never counted here.
+				mAllocationCheck.end("settle frame");
+			}
+			final boolean predicting = isPredictingDrag();
+			if (DrawerTracer.ENABLED && !predicting) {
+				trace(DrawerTracer.EVENT_SETTLE_FRAME, settling ? 1 : 0, 0, 0);
+			}
+			dispatchSideSettlesFinished();
+			if (settling || sideSettling || predicting) {
+				postSettleFrame();
+			}
+		}
+	};
+
+	// Samples drag and settle frames for the drawer metrics from vsync while
+	// the drawer state is not idle, so both phases use the same clock
+	private boolean mMetricsFramePosted;
+	private final Choreographer.FrameCallback mMetricsFrameCallback = new Choreographer.FrameCallback() {
+		@Override
+		public void doFrame(long frameTimeNanos) {
+			mMetricsFramePosted = false;
+			if (mDrawerMetrics != null && mDrawerState != STATE_IDLE) {
+				mDrawerMetrics.onFrame(frameTimeNanos);
+				postMetricsFrame();
+			}
+		}
+	};
+
+	private float mInitialMotionX;
+	private float mInitialMotionY;
+
+	/**
+	 * Listener for monitoring events about drawers.
+	 */
+	public interface DrawerListener {
+		/**
+		 * Called when a drawer's position changes.
+		 * 
+		 * @param drawerView
+		 *            The child view that was moved
+		 * @param slideOffset
+		 *            The new offset of this drawer within its range, from 0-1
+		 */
+		public void onDrawerSlide(View drawerView, float slideOffset);
+
+		/**
+		 * Called when a drawer has settled in a completely open state. The
+		 * drawer is interactive at this point.
+		 * 
+		 * @param drawerView
+		 *            Drawer view that is now open
+		 */
+		public void onDrawerOpened(View drawerView);
+
+		/**
+		 * Called when a drawer has settled in a completely closed state.
+		 * 
+		 * @param drawerView
+		 *            Drawer view that is now closed
+		 */
+		public void onDrawerClosed(View drawerView);
+
+		/**
+		 * Called when the drawer motion state changes. The new state will be
+		 * one of {@link #STATE_IDLE}, {@link #STATE_DRAGGING} or
+		 * {@link #STATE_SETTLING}.
+		 * 
+		 * @param newState
+		 *            The new drawer motion state
+		 */
+		public void onDrawerStateChanged(int newState);
+	}
+
+	/**
+	 * Stub/no-op implementations of all methods of {@link DrawerListener}.
+	 * Override this if you only care about a few of the available callback
+	 * methods.
+	 */
+	public static abstract class SimpleDrawerListener implements DrawerListener {
+		@Override
+		public void onDrawerSlide(View drawerView, float slideOffset) {
+		}
+
+		@Override
+		public void onDrawerOpened(View drawerView) {
+		}
+
+		@Override
+		public void onDrawerClosed(View drawerView) {
+		}
+
+		@Override
+		public void onDrawerStateChanged(int newState) {
+		}
+	}
+
+	/**
+	 * @param edges
+	 *            The edges that may hold a drawer, a combination of
+	 *            {@link ViewDragHelper#EDGE_LEFT}, {@link ViewDragHelper#EDGE_RIGHT},
+	 *            {@link ViewDragHelper#EDGE_TOP} and
+	 *            {@link ViewDragHelper#EDGE_BOTTOM}
+	 */
+	protected AbsDrawerLayout(Context context, AttributeSet attrs, int defStyle, int edges) {
+		super(context, attrs, defStyle);
+
+		if (DrawerTracer.ENABLED) {
+			mTracer = new DrawerTracer();
+		}
+
+		mDrawerGravities = edgesToGravities(edges);
+		mDrawers = new View[mDrawerGravities.length];
+		mSettleEngines = new DrawerSettleEngine[mDrawerGravities.length];
+		mLockModes = new int[mDrawerGravities.length];
+
+		final TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.AbsDrawerLayout, defStyle, 0);
+		mLayerMode = a.getInt(R.styleable.AbsDrawerLayout_drawerLayerMode, LAYER_MODE_NONE);
+		final int moveMode = a.getInt(R.styleable.AbsDrawerLayout_drawerMoveMode, MOVE_MODE_OFFSET);
+		mLazyDrawers = a.getBoolean(R.styleable.AbsDrawerLayout_lazyDrawers, false);
+		a.recycle();
+
+		final float density = getResources().getDisplayMetrics().density;
+		mMinDrawerMargin = (int) (MIN_DRAWER_MARGIN * density + 0.5f);
+		final float minVel = MIN_FLING_VELOCITY * density;
+
+		mCallback = new ViewDragCallback();
+		mDragger = ViewDragHelper.create(this, TOUCH_SLOP_SENSITIVITY, mCallback);
+		mDragger.setEdgeTrackingEnabled(edges & ViewDragHelper.EDGE_ALL);
+		mDragger.setMinVelocity(minVel);
+		mDragger.setMoveMode(moveMode);
+		mEdgeArbiter = new EdgeArbiter(mDragger.getTouchSlop());
+		super.setOnHierarchyChangeListener(new OnHierarchyChangeListener() {
+			@Override
+			public void onChildViewAdded(View parent, View child) {
+				mDrawerIndexDirty = true;
+				if (mOnHierarchyChangeListener != null) {
+					mOnHierarchyChangeListener.onChildViewAdded(parent, child);
+				}
+			}
+
+			@Override
+			public void onChildViewRemoved(View parent, View child) {
+				mDrawerIndexDirty = true;
+				if (mOnHierarchyChangeListener != null) {
+					mOnHierarchyChangeListener.onChildViewRemoved(parent, child);
+				}
+			}
+		});
+
+		// So that we can catch the back button
+		setFocusableInTouchMode(true);
+
+		ViewCompat.setAccessibilityDelegate(this, new AccessibilityDelegate());
+		ViewGroupCompat.setMotionEventSplittingEnabled(this, false);
+	}
+
+	private static int[] edgesToGravities(int edges) {
+		int count = 0;
+		for (int i = 0; i < EDGE_FLAGS.length; i++) {
+			if ((edges & EDGE_FLAGS[i]) != 0) {
+				count++;
+			}
+		}
+		if (count == 0) {
+			throw new IllegalArgumentException("A drawer layout needs at least one drawer edge");
+		}
+		final int[] gravities = new int[count];
+		int index = 0;
+		for (int i = 0; i < EDGE_FLAGS.length; i++) {
+			if ((edges & EDGE_FLAGS[i]) != 0) {
+				gravities[index++] = EDGE_GRAVITIES[i];
+			}
+		}
+		return gravities;
+	}
+
+	/**
+	 * @return The number of edges that may hold a drawer
+	 */
+	int getDrawerEdgeCount() {
+		return mDrawerGravities.length;
+	}
+
+	/**
+	 * @param index
+	 *            Drawer index
+	 * @return The absolute gravity of the drawer edge with the given index
+	 */
+	int getDrawerEdgeGravity(int index) {
+		return mDrawerGravities[index];
+	}
+
+	/**
+	 * Set a simple drawable used for the left or right shadow. The drawable
+	 * provided must have a nonzero intrinsic width.
+	 * 
+	 * @param shadowDrawable
+	 *            Shadow drawable to use at the edge of a drawer
+	 * @param gravity
+	 *            Which drawer the shadow should apply to
+	 */
+	public void setDrawerShadow(Drawable shadowDrawable, int gravity) {
+		/*
+		 * TODO Someone someday might want to set more complex drawables here.
+		 * They're probably nuts, but we might want to consider registering
+		 * callbacks, setting states, etc. properly.
+		 */
+
+		final int absGravity = GravityCompat.getAbsoluteGravity(gravity, ViewCompat.getLayoutDirection(this));
+		if ((absGravity & Gravity.LEFT) == Gravity.LEFT) {
+			mShadowLeft = shadowDrawable;
+			invalidate();
+		}
+		if ((absGravity & Gravity.RIGHT) == Gravity.RIGHT) {
+			mShadowRight = shadowDrawable;
+			invalidate();
+		}
+		if ((absGravity & Gravity.TOP) == Gravity.TOP) {
+			mShadowTop = shadowDrawable;
+			invalidate();
+		}
+		if ((absGravity & Gravity.BOTTOM) == Gravity.BOTTOM) {
+			mShadowBottom = shadowDrawable;
+			invalidate();
+		}
+	}
+
+	/**
+	 * Set a simple drawable used for the left or right shadow. The drawable
+	 * provided must have a nonzero intrinsic width.
+	 * 
+	 * @param resId
+	 *            Resource id of a shadow drawable to use at the edge of a
+	 *            drawer
+	 * @param gravity
+	 *            Which drawer the shadow should apply to
+	 */
+	public void setDrawerShadow(int resId, int gravity) {
+		setDrawerShadow(getResources().getDrawable(resId), gravity);
+	}
+
+	/**
+	 * Set a color to use for the scrim that obscures primary content while a
+	 * drawer is open.
+	 * 
+	 * @param color
+	 *            Color to use in 0xAARRGGBB format.
+	 */
+	public void setScrimColor(int color) {
+		mScrimColor = color;
+		invalidate();
+	}
+
+	/**
+	 * Set a listener to be notified of drawer events. This replaces the
+	 * listener set by a previous call, but leaves listeners registered with
+	 * {@link #addDrawerListener(DrawerListener)} in place.
+	 * 
+	 * @param listener
+	 *            Listener to notify when drawer events occur
+	 * @see DrawerListener
+	 */
+	public void setDrawerListener(DrawerListener listener) {
+		if (mListener != null) {
+			removeDrawerListener(mListener);
+		}
+		if (listener != null) {
+			addDrawerListener(listener);
+		}
+		mListener = listener;
+	}
+
+	/**
+	 * Add a listener to be notified of drawer events. Listeners are notified
+	 * in the reverse order they were added.
+	 * 
+	 * @param listener
+	 *            Listener to notify when drawer events occur
+	 * @see #removeDrawerListener(DrawerListener)
+	 */
+	public void addDrawerListener(DrawerListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException("Listener may not be null");
+		}
+		mListeners.add(listener);
+	}
+
+	/**
+	 * Remove a listener previously added with
+	 * {@link #addDrawerListener(DrawerListener)}. Listeners may be removed
+	 * from within a callback.
+	 * 
+	 * @param listener
+	 *            Listener to remove
+	 */
+	public void removeDrawerListener(DrawerListener listener) {
+		mListeners.remove(listener);
+	}
+
+	/**
+	 * Enable or disable per-frame coalescing of
+	 * {@link DrawerListener#onDrawerSlide(View, float)}.
+	 * 
+	 * <p>
+	 * By default a slide callback is delivered synchronously for every change
+	 * in a drawer's position, which can happen several times per frame. When
+	 * coalescing is enabled, each drawer reports at most one slide per
+	 * animation frame, carrying its latest offset. Pending slides are always
+	 * delivered before the drawer's open or closed callback.
+	 * </p>
+	 * 
+	 * @param coalesce
+	 *            true to deliver slides once per frame
+	 */
+	public void setDrawerSlideCoalescing(boolean coalesce) {
+		if (mCoalesceSlides && !coalesce) {
+			removeCallbacks(mSlideDispatchRunnable);
+			mSlideDispatchPosted = false;
+			dispatchPendingSlides();
+		}
+		mCoalesceSlides = coalesce;
+	}
+
+	/**
+	 * @return true if slide callbacks are coalesced per frame
+	 * @see #setDrawerSlideCoalescing(boolean)
+	 */
+	public boolean isDrawerSlideCoalescing() {
+		return mCoalesceSlides;
+	}
+
+	/**
+	 * Set the tracer that receives structured drawer events. Events are only
+	 * recorded when {@link DrawerTracer#ENABLED} is true; in release builds
+	 * the trace points are compiled out and this has no effect.
+	 * 
+	 * @param tracer
+	 *            Tracer to record events into, or null to stop tracing
+	 */
+	public void setDrawerTracer(DrawerTracer tracer) {
+		mTracer = tracer;
+	}
+
+	/**
+	 * @return The tracer currently recording drawer events, or null
+	 */
+	public DrawerTracer getDrawerTracer() {
+		return mTracer;
+	}
+
+	/**
+	 * Set the metrics that record frame timing, touch latency and settle
+	 * duration for every drawer motion session.
+	 * 
+	 * @param metrics
+	 *            Metrics to record into, or null to stop recording
+	 */
+	public void setDrawerMetrics(DrawerMetrics metrics) {
+		mDrawerMetrics = metrics;
+	}
+
+	/**
+	 * @return The metrics currently recording drawer motion, or null
+	 */
+	public DrawerMetrics getDrawerMetrics() {
+		return mDrawerMetrics;
+	}
+
+	/**
+	 * Check in debug builds that drag moves and settle frames do not allocate.
+	 * While a drawer moves, every drag move or settle frame that allocated is
+	 * logged. Allocations are only counted while allocation counting is on
+	 * for the process, see {@link android.os.Debug#startAllocCounting()}; the
+	 * check does not turn it on itself. Does nothing in release builds.
+	 * Drawer listeners are called from drag moves unless
+	 * {@link #setDrawerSlideCoalescing(boolean) slide coalescing} is on, so
+	 * enable it to keep their allocations out of the check.
+	 * 
+	 * @param enabled
+	 *            true to check allocations
+	 */
+	public void setAllocationCheckEnabled(boolean enabled) {
+		if (!AllocationCheck.ENABLED) {
+			return;
+		}
+		if (enabled && mAllocationCheck == null) {
+			mAllocationCheck = new AllocationCheck();
+			if (mDrawerState != STATE_IDLE) {
+				mAllocationCheck.startSession();
+			}
+		} else if (!enabled && mAllocationCheck != null) {
+			mAllocationCheck.stopSession();
+			mAllocationCheck = null;
+		}
+	}
+
+	/**
+	 * @return The number of drag moves and settle frames that allocated since
+	 *         the allocation check was enabled; always 0 in release builds
+	 */
+	public int getAllocationViolationCount() {
+		return AllocationCheck.ENABLED && mAllocationCheck != null ? mAllocationCheck.getViolationCount() : 0;
+	}
+
+	/**
+	 * Set a probe that timestamps each stage from the touch down to the first
+	 * frame that shows a drawer moving.
+	 * 
+	 * @param probe
+	 *            Probe to record into, or null to stop recording
+	 */
+	public void setLatencyProbe(GestureLatencyProbe probe) {
+		mLatencyProbe = probe;
+	}
+
+	/**
+	 * @return The probe currently recording gesture latency, or null
+	 */
+	public GestureLatencyProbe getLatencyProbe() {
+		return mLatencyProbe;
+	}
+
+	/**
+	 * Set a tuner that adapts the peek delay, fling threshold and edge size
+	 * to the user's edge gestures. Tuned values are applied at the start of
+	 * each gesture.
+	 * 
+	 * @param tuner
+	 *            Tuner to learn from this layout's gestures, or null to go back
+	 *            to the default values
+	 */
+	public void setDrawerTuner(DrawerTuner tuner) {
+		mDrawerTuner = tuner;
+		applyTuning();
+	}
+
+	/**
+	 * @return The tuner currently adapting this layout, or null
+	 */
+	public DrawerTuner getDrawerTuner() {
+		return mDrawerTuner;
+	}
+
+	private void applyTuning() {
+		final float density = getResources().getDisplayMetrics().density;
+		final DrawerTuner tuner = mDrawerTuner;
+		final float minVel = (tuner != null ? tuner.getMinFlingVelocity() : MIN_FLING_VELOCITY) * density;
+		final int edgeSize = (int) ((tuner != null ? tuner.getEdgeSize() : DrawerTuner.DEFAULT_EDGE_SIZE) * density + 0.5f);
+		mDragger.setMinVelocity(minVel);
+		mDragger.setEdgeSize(edgeSize);
+	}
+
+	private int getPeekDelay() {
+		return mDrawerTuner != null ? mDrawerTuner.getPeekDelay() : PEEK_DELAY;
+	}
+
+	/**
+	 * Set a recorder that captures the touch events this layout receives,
+	 * its drag state changes and its drawer offsets. Unlike the drawer tracer
+	 * this works in release builds, for diagnosing problems in the field.
+	 * 
+	 * @param recorder
+	 *            Recorder to write into, or null to stop recording
+	 */
+	public void setGestureRecorder(GestureRecorder recorder) {
+		mGestureRecorder = recorder;
+	}
+
+	/**
+	 * @return The recorder currently capturing gestures, or null
+	 */
+	public GestureRecorder getGestureRecorder() {
+		return mGestureRecorder;
+	}
+
+	void trace(int event, int arg0, int arg1, int arg2) {
+		if (mTracer != null) {
+			mTracer.trace(event, arg0, arg1, arg2);
+		}
+	}
+
+	/**
+	 * Set how drawers are rendered while they are dragged or settling.
+	 * 
+	 * <p>
+	 * With a layer mode other than {@link #LAYER_MODE_NONE}, the moving drawer
+	 * (and optionally the content) is promoted to a hardware layer when motion
+	 * starts, so each frame recomposites the cached layer instead of redrawing
+	 * the drawer's view hierarchy. The layers are released once all drawers
+	 * are idle. Views that already have a layer type set are left alone. This
+	 * only has an effect when the window is hardware accelerated.
+	 * </p>
+	 * 
+	 * @param layerMode
+	 *            One of {@link #LAYER_MODE_NONE}, {@link #LAYER_MODE_DRAWER}
+	 *            or {@link #LAYER_MODE_DRAWER_AND_CONTENT}
+	 */
+	public void setDrawerLayerMode(int layerMode) {
+		if (layerMode < LAYER_MODE_NONE || layerMode > LAYER_MODE_DRAWER_AND_CONTENT) {
+			throw new IllegalArgumentException("Unknown drawer layer mode " + layerMode);
+		}
+		mLayerMode = layerMode;
+		releaseDrawerLayers();
+	}
+
+	/**
+	 * @return The current drawer layer mode
+	 * @see #setDrawerLayerMode(int)
+	 */
+	public int getDrawerLayerMode() {
+		return mLayerMode;
+	}
+
+	private void updateDrawerLayers(int state, View activeDrawer) {
+		if (state == STATE_IDLE) {
+			releaseDrawerLayers();
+		} else if (mLayerMode != LAYER_MODE_NONE && activeDrawer != null && activeDrawer != mLayerDrawer) {
+			releaseDrawerLayers();
+			mLayerDrawer = promoteToLayer(activeDrawer);
+			if (mLayerMode == LAYER_MODE_DRAWER_AND_CONTENT) {
+				mLayerContent = promoteToLayer(findContentView());
+			}
+		}
+	}
+
+	private View promoteToLayer(View v) {
+		if (v == null || !isHardwareAccelerated() || ViewCompat.getLayerType(v) != ViewCompat.LAYER_TYPE_NONE) {
+			return null;
+		}
+		ViewCompat.setLayerType(v, ViewCompat.LAYER_TYPE_HARDWARE, null);
+		return v;
+	}
+
+	private void releaseDrawerLayers() {
+		if (mLayerDrawer != null) {
+			ViewCompat.setLayerType(mLayerDrawer, ViewCompat.LAYER_TYPE_NONE, null);
+			mLayerDrawer = null;
+		}
+		if (mLayerContent != null) {
+			ViewCompat.setLayerType(mLayerContent, ViewCompat.LAYER_TYPE_NONE, null);
+			mLayerContent = null;
+		}
+	}
+
+	/**
+	 * Set how drawers are moved while they are dragged or settling.
+	 * 
+	 * <p>
+	 * {@link #MOVE_MODE_OFFSET} moves drawers by offsetting their layout
+	 * position, which invalidates this layout's display list on every frame.
+	 * With {@link #MOVE_MODE_TRANSLATION} drawers are laid out once in their
+	 * closed position and only their translation changes as they move, so
+	 * motion never disturbs layout. Any motion in progress is finished
+	 * immediately.
+	 * </p>
+	 * 
+	 * @param moveMode
+	 *            {@link #MOVE_MODE_OFFSET} or {@link #MOVE_MODE_TRANSLATION}
+	 */
+	public void setDrawerMoveMode(int moveMode) {
+		if (moveMode == mDragger.getMoveMode()) {
+			return;
+		}
+		stepSideSettles(Long.MAX_VALUE);
+		dispatchSideSettlesFinished();
+		mDragger.setMoveMode(moveMode);
+
+		// Drawers are positioned for the new mode on the next layout pass.
+		ensureDrawerIndex();
+		final View[] drawers = mDrawers;
+		for (int i = 0; i < drawers.length; i++) {
+			if (drawers[i] != null) {
+				ViewCompat.setTranslationX(drawers[i], 0);
+				ViewCompat.setTranslationY(drawers[i], 0);
+			}
+		}
+		invalidateDrawerLayouts();
+		requestLayout();
+	}
+
+	/**
+	 * @return The current drawer move mode
+	 * @see #setDrawerMoveMode(int)
+	 */
+	public int getDrawerMoveMode() {
+		return mDragger.getMoveMode();
+	}
+
+	/**
+	 * Defer measuring and laying out drawers while they are closed. A lazy
+	 * drawer is measured and laid out when it is touched at its edge, peeks or
+	 * is opened, so screens with rarely opened drawers don't pay for them on
+	 * every layout pass.
+	 * 
+	 * <p>
+	 * Independently of this setting a drawer may be declared as a
+	 * {@link ViewStub} with a layout_gravity; it is inflated the first time it
+	 * is about to be shown.
+	 * </p>
+	 * 
+	 * @param lazy
+	 *            true to defer work for closed drawers
+	 */
+	public void setLazyDrawers(boolean lazy) {
+		if (mLazyDrawers != lazy) {
+			mLazyDrawers = lazy;
+			requestLayout();
+		}
+	}
+
+	/**
+	 * @return true if closed drawers are not measured or laid out
+	 * @see #setLazyDrawers(boolean)
+	 */
+	public boolean isLazyDrawers() {
+		return mLazyDrawers;
+	}
+
+	/**
+	 * Predict the finger position when dragging a drawer, so the drawer keeps
+	 * up with the finger instead of trailing it by a frame. Each move is
+	 * predicted for the vsync of the frame that draws it, but never further
+	 * ahead than the given horizon.
+	 * 
+	 * @param horizonMillis
+	 *            Largest prediction horizon in milliseconds, 0 to disable
+	 * @see ViewDragHelper#setTouchPredictionHorizon(int)
+	 */
+	public void setDragPredictionHorizon(int horizonMillis) {
+		mDragger.setTouchPredictionHorizon(horizonMillis);
+	}
+
+	/**
+	 * Set the engine used to settle the drawer with the given gravity when it
+	 * is released or opened and closed programmatically.
+	 * 
+	 * @param engine
+	 *            Engine to use, for example a {@link DrawerSettleEngine.Spring}
+	 *            or {@link DrawerSettleEngine.Decay}, or null to use the
+	 *            default fixed-curve settle
+	 * @param edgeGravity
+	 *            Gravity.LEFT, RIGHT, TOP, BOTTOM, START or END. Expresses
+	 *            which drawer to configure.
+	 */
+	public void setDrawerSettleEngine(DrawerSettleEngine engine, int edgeGravity) {
+		final int absGravity = GravityCompat.getAbsoluteGravity(edgeGravity, ViewCompat.getLayoutDirection(this));
+		final int index = drawerIndexForGravity(absGravity);
+		if (index < 0) {
+			throw new IllegalArgumentException("No drawer edge for gravity " + gravityToString(edgeGravity));
+		}
+		mSettleEngines[index] = engine;
+	}
+
+	/**
+	 * @param edgeGravity
+	 *            Gravity of the drawer to check
+	 * @return The settle engine for the drawer with the given gravity, or null
+	 *         if it uses the default settle
+	 * @see #setDrawerSettleEngine(DrawerSettleEngine, int)
+	 */
+	public DrawerSettleEngine getDrawerSettleEngine(int edgeGravity) {
+		final int absGravity = GravityCompat.getAbsoluteGravity(edgeGravity, ViewCompat.getLayoutDirection(this));
+		final int index = drawerIndexForGravity(absGravity);
+		return index >= 0 ? mSettleEngines[index] : null;
+	}
+
+	/**
+	 * @return The drag prediction horizon in milliseconds
+	 * @see #setDragPredictionHorizon(int)
+	 */
+	public int getDragPredictionHorizon() {
+		return mDragger.getTouchPredictionHorizon();
+	}
+
+	/**
+	 * Translate a drawer laid out in its closed position so that it shows at
+	 * the given offset. Only used in {@link #MOVE_MODE_TRANSLATION}.
+	 */
+	private void applyDrawerTranslation(View drawerView, float onScreen) {
+		final int childWidth = drawerView.getWidth();
+		final int childHeight = drawerView.getHeight();
+		int translationX = 0;
+		int translationY = 0;
+		switch (getDrawerViewAbsoluteGravity(drawerView)) {
+		case Gravity.LEFT:
+			translationX = (int) (childWidth * onScreen);
+			break;
+		case Gravity.RIGHT:
+			translationX = -(int) (childWidth * onScreen);
+			break;
+		case Gravity.TOP:
+			translationY = (int) (childHeight * onScreen);
+			break;
+		default:
+			translationY = -(int) (childHeight * onScreen);
+			break;
+		}
+		ViewCompat.setTranslationX(drawerView, translationX);
+		ViewCompat.setTranslationY(drawerView, translationY);
+	}
+
+	private View findContentView() {
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			final View child = getChildAt(i);
+			if (isContentView(child)) {
+				return child;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Enable or disable interaction with all drawers.
+	 * 
+	 * <p>
+	 * This allows the application to restrict the user's ability to open or
+	 * close any drawer within this layout. DrawerLayout will still respond to
+	 * calls to {@link #openDrawer(int)}, {@link #closeDrawer(int)} and friends
+	 * if a drawer is locked.
+	 * </p>
+	 * 
+	 * <p>
+	 * Locking drawers open or closed will implicitly open or close any drawers
+	 * as appropriate.
+	 * </p>
+	 * 
+	 * @param lockMode
+	 *            The new lock mode for the given drawer. One of
+	 *            {@link #LOCK_MODE_UNLOCKED}, {@link #LOCK_MODE_LOCKED_CLOSED}
+	 *            or {@link #LOCK_MODE_LOCKED_OPEN}.
+	 */
+	public void setDrawerLockMode(int lockMode) {
+		for (int i = 0; i < mDrawerGravities.length; i++) {
+			setDrawerLockMode(lockMode, mDrawerGravities[i]);
+		}
+	}
+
+	/**
+	 * Enable or disable interaction with the given drawer.
+	 * 
+	 * <p>
+	 * This allows the application to restrict the user's ability to open or
+	 * close the given drawer. DrawerLayout will still respond to calls to
+	 * {@link #openDrawer(int)}, {@link #closeDrawer(int)} and friends if a
+	 * drawer is locked.
+	 * </p>
+	 * 
+	 * <p>
+	 * Locking a drawer open or closed will implicitly open or close that drawer
+	 * as appropriate.
+	 * </p>
+	 * 
+	 * @param lockMode
+	 *            The new lock mode for the given drawer. One of
+	 *            {@link #LOCK_MODE_UNLOCKED}, {@link #LOCK_MODE_LOCKED_CLOSED}
+	 *            or {@link #LOCK_MODE_LOCKED_OPEN}.
+	 * @param edgeGravity
+	 *            Gravity.LEFT, RIGHT, TOP, BOTTOM, START or END. Expresses
+	 *            which drawer to change the mode for.
+	 * 
+	 * @see #LOCK_MODE_UNLOCKED
+	 * @see #LOCK_MODE_LOCKED_CLOSED
+	 * @see #LOCK_MODE_LOCKED_OPEN
+	 */
+	public void setDrawerLockMode(int lockMode, int edgeGravity) {
+		final int absGravity = GravityCompat.getAbsoluteGravity(edgeGravity, ViewCompat.getLayoutDirection(this));
+		final int index = drawerIndexForGravity(absGravity);
+		if (index >= 0) {
+			mLockModes[index] = lockMode;
+		}
+		if (lockMode != LOCK_MODE_UNLOCKED) {
+			// Cancel interaction in progress, but only if it involves this
+			// drawer; the helper is shared with the other edges.
+			final View captured = mDragger.getCapturedView();
+			if (captured == null || getDrawerViewAbsoluteGravity(captured) == absGravity) {
+				mDragger.cancel();
+			}
+		}
+		switch (lockMode) {
+		case LOCK_MODE_LOCKED_OPEN:
+			final View toOpen = findDrawerWithGravity(absGravity);
+			if (toOpen != null) {
+				openDrawer(toOpen);
+			}
+			break;
+		case LOCK_MODE_LOCKED_CLOSED:
+			final View toClose = findDrawerWithGravity(absGravity);
+			if (toClose != null) {
+				closeDrawer(toClose);
+			}
+			break;
+		// default: do nothing
+		}
+	}
+
+	/**
+	 * Enable or disable interaction with the given drawer.
+	 * 
+	 * <p>
+	 * This allows the application to restrict the user's ability to open or
+	 * close the given drawer. DrawerLayout will still respond to calls to
+	 * {@link #openDrawer(int)}, {@link #closeDrawer(int)} and friends if a
+	 * drawer is locked.
+	 * </p>
+	 * 
+	 * <p>
+	 * Locking a drawer open or closed will implicitly open or close that drawer
+	 * as appropriate.
+	 * </p>
+	 * 
+	 * @param lockMode
+	 *            The new lock mode for the given drawer. One of
+	 *            {@link #LOCK_MODE_UNLOCKED}, {@link #LOCK_MODE_LOCKED_CLOSED}
+	 *            or {@link #LOCK_MODE_LOCKED_OPEN}.
+	 * @param drawerView
+	 *            The drawer view to change the lock mode for
+	 * 
+	 * @see #LOCK_MODE_UNLOCKED
+	 * @see #LOCK_MODE_LOCKED_CLOSED
+	 * @see #LOCK_MODE_LOCKED_OPEN
+	 */
+	public void setDrawerLockMode(int lockMode, View drawerView) {
+		if (!isDrawerView(drawerView)) {
+			throw new IllegalArgumentException("View " + drawerView + " is not a " + "drawer with appropriate layout_gravity");
+		}
+		final int gravity = ((LayoutParams) drawerView.getLayoutParams()).gravity;
+		setDrawerLockMode(lockMode, gravity);
+	}
+
+	/**
+	 * Check the lock mode of the drawer with the given gravity.
+	 * 
+	 * @param edgeGravity
+	 *            Gravity of the drawer to check
+	 * @return one of {@link #LOCK_MODE_UNLOCKED},
+	 *         {@link #LOCK_MODE_LOCKED_CLOSED} or
+	 *         {@link #LOCK_MODE_LOCKED_OPEN}.
+	 */
+	public int getDrawerLockMode(int edgeGravity) {
+		final int absGravity = GravityCompat.getAbsoluteGravity(edgeGravity, ViewCompat.getLayoutDirection(this));
+		final int index = drawerIndexForGravity(absGravity);
+		return index >= 0 ? mLockModes[index] : LOCK_MODE_UNLOCKED;
+	}
+
+	/**
+	 * Check the lock mode of the given drawer view.
+	 * 
+	 * @param drawerView
+	 *            Drawer view to check lock mode
+	 * @return one of {@link #LOCK_MODE_UNLOCKED},
+	 *         {@link #LOCK_MODE_LOCKED_CLOSED} or
+	 *         {@link #LOCK_MODE_LOCKED_OPEN}.
+	 */
+	public int getDrawerLockMode(View drawerView) {
+		final int index = drawerIndexForGravity(getDrawerViewAbsoluteGravity(drawerView));
+		return index >= 0 ? mLockModes[index] : LOCK_MODE_UNLOCKED;
+	}
+
+	/**
+	 * Resolve the shared state of all drawers from the ViewDragHelper. Should
+	 * be called whenever the ViewDragHelper's state changes.
+	 */
+	void updateDrawerState(int activeState, View activeDrawer) {
+		int state = mDragger.getViewDragState();
+		if (state == STATE_IDLE && hasSideSettles()) {
+			// Another drawer is still sliding on its own.
+			state = STATE_SETTLING;
+		}
+
+		updateDrawerLayers(state, activeState != STATE_IDLE ? activeDrawer : null);
+		if (state == STATE_SETTLING || isPredictingDrag()) {
+			// Settling is ticked from the frame callback rather than from
+			// computeScroll, so idle frames cost nothing.
+			postSettleFrame();
+		}
+
+		if (activeDrawer != null && activeState == STATE_IDLE) {
+			final LayoutParams lp = (LayoutParams) activeDrawer.getLayoutParams();
+			if (lp.onScreen == 0) {
+				dispatchOnDrawerClosed(activeDrawer);
+			} else if (lp.onScreen == 1) {
+				dispatchOnDrawerOpened(activeDrawer);
+			}
+			onDrawerSettled(activeDrawer);
+		}
+		if (state != mDrawerState) {
+			mDrawerState = state;
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_DRAWER_STATE, state, 0, 0);
+			}
+			if (mDrawerMetrics != null) {
+				mDrawerMetrics.onStateChanged(state, activeDrawer != null && getDrawerViewOffset(activeDrawer) > 0);
+				if (state != STATE_IDLE) {
+					postMetricsFrame();
+				}
+			}
+			if (state == STATE_IDLE) {
+				removeMetricsFrame();
+			}
+			if (AllocationCheck.ENABLED && mAllocationCheck != null) {
+				if (state != STATE_IDLE) {
+					mAllocationCheck.startSession();
+				} else {
+					mAllocationCheck.stopSession();
+				}
+			}
+			if (mDrawerTuner != null) {
+				mDrawerTuner.onStateChanged(state, activeDrawer != null && getDrawerViewOffset(activeDrawer) > 0);
+			}
+			final ArrayList<DrawerListener> listeners = mListeners;
+			for (int i = listeners.size() - 1; i >= 0; i--) {
+				listeners.get(i).onDrawerStateChanged(state);
+			}
+		}
+	}
+
+	/**
+	 * Called when a drawer comes to rest, after the open or closed callback if
+	 * it settled at either end.
+	 * 
+	 * @param drawerView
+	 *            Drawer that settled
+	 */
+	void onDrawerSettled(View drawerView) {
+	}
+
+	void dispatchOnDrawerClosed(View drawerView) {
+		final LayoutParams lp = (LayoutParams) drawerView.getLayoutParams();
+		if (lp.knownOpen) {
+			lp.knownOpen = false;
+			dispatchPendingSlide(drawerView);
+			final ArrayList<DrawerListener> listeners = mListeners;
+			for (int i = listeners.size() - 1; i >= 0; i--) {
+				listeners.get(i).onDrawerClosed(drawerView);
+			}
+			sendAccessibilityEvent(AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED);
+		}
+	}
+
+	void dispatchOnDrawerOpened(View drawerView) {
+		final LayoutParams lp = (LayoutParams) drawerView.getLayoutParams();
+		if (!lp.knownOpen) {
+			lp.knownOpen = true;
+			dispatchPendingSlide(drawerView);
+			final ArrayList<DrawerListener> listeners = mListeners;
+			for (int i = listeners.size() - 1; i >= 0; i--) {
+				listeners.get(i).onDrawerOpened(drawerView);
+			}
+			drawerView.sendAccessibilityEvent(AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED);
+		}
+	}
+
+	void dispatchOnDrawerSlide(View drawerView, float slideOffset) {
+		if (mCoalesceSlides) {
+			((LayoutParams) drawerView.getLayoutParams()).slidePending = true;
+			if (!mSlideDispatchPosted) {
+				mSlideDispatchPosted = true;
+				ViewCompat.postOnAnimation(this, mSlideDispatchRunnable);
+			}
+			return;
+		}
+		final ArrayList<DrawerListener> listeners = mListeners;
+		for (int i = listeners.size() - 1; i >= 0; i--) {
+			listeners.get(i).onDrawerSlide(drawerView, slideOffset);
+		}
+	}
+
+	/**
+	 * Deliver a coalesced slide for the given drawer now if one is pending.
+	 */
+	void dispatchPendingSlide(View drawerView) {
+		final LayoutParams lp = (LayoutParams) drawerView.getLayoutParams();
+		if (lp.slidePending) {
+			lp.slidePending = false;
+			final ArrayList<DrawerListener> listeners = mListeners;
+			for (int i = listeners.size() - 1; i >= 0; i--) {
+				listeners.get(i).onDrawerSlide(drawerView, lp.onScreen);
+			}
+		}
+	}
+
+	private void dispatchPendingSlides() {
+		ensureDrawerIndex();
+		final View[] drawers = mDrawers;
+		for (int i = 0; i < drawers.length; i++) {
+			if (drawers[i] != null) {
+				dispatchPendingSlide(drawers[i]);
+			}
+		}
+	}
+
+	void setDrawerViewOffset(View drawerView, float slideOffset) {
+		final LayoutParams lp = (LayoutParams) drawerView.getLayoutParams();
+		if (slideOffset == lp.onScreen) {
+			return;
+		}
+
+		lp.onScreen = slideOffset;
+		lp.layoutValid = false;
+		mContentClipDirty = true;
+		if (DrawerTracer.ENABLED) {
+			trace(DrawerTracer.EVENT_DRAWER_OFFSET, getDrawerViewAbsoluteGravity(drawerView), (int) (slideOffset * 1000), 0);
+		}
+		if (mGestureRecorder != null) {
+			mGestureRecorder.recordDrawerOffset(getDrawerViewAbsoluteGravity(drawerView), slideOffset);
+		}
+		if (mDrawerMetrics != null) {
+			mDrawerMetrics.onDrawerMoved();
+		}
+		dispatchOnDrawerSlide(drawerView, slideOffset);
+	}
+
+	float getDrawerViewOffset(View drawerView) {
+		return ((LayoutParams) drawerView.getLayoutParams()).onScreen;
+	}
+
+	/**
+	 * @return the absolute gravity of the child drawerView, resolved according
+	 *         to the current layout direction
+	 */
+	int getDrawerViewAbsoluteGravity(View drawerView) {
+		final int index = indexOfDrawer(drawerView);
+		if (index >= 0) {
+			return mDrawerGravities[index];
+		}
+		final int gravity = ((LayoutParams) drawerView.getLayoutParams()).gravity;
+		return GravityCompat.getAbsoluteGravity(gravity, ViewCompat.getLayoutDirection(this));
+	}
+
+	/**
+	 * @return the index into mDrawerGravities of the edge the given absolute
+	 *         gravity places a child along, or -1 if it is not an enabled
+	 *         drawer edge. Left and right take precedence over top and bottom.
+	 */
+	int drawerIndexForGravity(int absGravity) {
+		final int horizontal = absGravity & Gravity.HORIZONTAL_GRAVITY_MASK;
+		final int vertical = absGravity & Gravity.VERTICAL_GRAVITY_MASK;
+		final int[] gravities = mDrawerGravities;
+		for (int i = 0; i < gravities.length; i++) {
+			if (gravities[i] == horizontal || gravities[i] == vertical) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void ensureDrawerIndex() {
+		if (!mDrawerIndexDirty) {
+			return;
+		}
+		mDrawerIndexDirty = false;
+		Arrays.fill(mDrawers, null);
+		final int layoutDirection = ViewCompat.getLayoutDirection(this);
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			final View child = getChildAt(i);
+			final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+			final int gravity = lp.gravity;
+			lp.indexedGravity = gravity;
+			final int index = drawerIndexForGravity(GravityCompat.getAbsoluteGravity(gravity, layoutDirection));
+			if (index >= 0 && mDrawers[index] == null) {
+				mDrawers[index] = child;
+			}
+		}
+	}
+
+	/**
+	 * Mark the drawer index dirty if a child's gravity differs from the one
+	 * it was indexed with, as after setLayoutParams or a change to
+	 * LayoutParams#gravity. Cheap enough to run on every requestLayout.
+	 */
+	private void checkDrawerGravities() {
+		if (mDrawerIndexDirty) {
+			return;
+		}
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			final LayoutParams lp = (LayoutParams) getChildAt(i).getLayoutParams();
+			if (lp.gravity != lp.indexedGravity) {
+				mDrawerIndexDirty = true;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return the drawer index of child, or -1 if it is not a drawer
+	 */
+	int indexOfDrawer(View child) {
+		ensureDrawerIndex();
+		final View[] drawers = mDrawers;
+		for (int i = 0; i < drawers.length; i++) {
+			if (drawers[i] == child) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	boolean checkDrawerViewAbsoluteGravity(View drawerView, int checkFor) {
+		final int absGravity = getDrawerViewAbsoluteGravity(drawerView);
+		return (absGravity & checkFor) == checkFor;
+	}
+
+	View findOpenDrawer() {
+		ensureDrawerIndex();
+		final View[] drawers = mDrawers;
+		for (int i = 0; i < drawers.length; i++) {
+			final View child = drawers[i];
+			if (child != null && ((LayoutParams) child.getLayoutParams()).knownOpen) {
+				return child;
+			}
+		}
+		return null;
+	}
+
+	void moveDrawerToOffset(View drawerView, float slideOffset) {
+		final int absGravity = getDrawerViewAbsoluteGravity(drawerView);
+		final float oldOffset = getDrawerViewOffset(drawerView);
+		final int width = drawerView.getWidth();
+		final int height = drawerView.getHeight();
+		final int xoldPos = (int) (width * oldOffset);
+		final int xnewPos = (int) (width * slideOffset);
+		final int yoldPos = (int) (height * oldOffset);
+		final int ynewPos = (int) (height * slideOffset);
+		int dx = xnewPos - xoldPos;
+		int dy = ynewPos - yoldPos;
+
+		if (absGravity == Gravity.LEFT || absGravity == Gravity.RIGHT) {
+			mDragger.offsetView(drawerView, checkDrawerViewAbsoluteGravity(drawerView, Gravity.LEFT) ? dx : -dx, 0);
+		}
+		if (absGravity == Gravity.TOP || absGravity == Gravity.BOTTOM) {
+			mDragger.offsetView(drawerView, 0, checkDrawerViewAbsoluteGravity(drawerView, Gravity.TOP) ? dy : -dy);
+		}
+		setDrawerViewOffset(drawerView, slideOffset);
+	}
+
+	/**
+	 * @param gravity
+	 *            the gravity of the child to return. If specified as a relative
+	 *            value, it will be resolved according to the current layout
+	 *            direction.
+	 * @return the drawer with the specified gravity
+	 */
+	View findDrawerWithGravity(int gravity) {
+		final int index = drawerIndexForGravity(GravityCompat.getAbsoluteGravity(gravity, ViewCompat.getLayoutDirection(this)));
+		if (index < 0) {
+			return null;
+		}
+		ensureDrawerIndex();
+		return mDrawers[index];
+	}
+
+	/**
+	 * Simple gravity to string - only supports LEFT and RIGHT for debugging
+	 * output.
+	 * 
+	 * @param gravity
+	 *            Absolute gravity value
+	 * @return LEFT or RIGHT as appropriate, or a hex string
+	 */
+	static String gravityToString(int gravity) {
+		if ((gravity & Gravity.LEFT) == Gravity.LEFT) {
+			return "LEFT";
+		}
+		if ((gravity & Gravity.RIGHT) == Gravity.RIGHT) {
+			return "RIGHT";
+		}
+		if ((gravity & Gravity.TOP) == Gravity.TOP) {
+			return "TOP";
+		}
+		if ((gravity & Gravity.BOTTOM) == Gravity.BOTTOM) {
+			return "BOTTOM";
+		}
+		return Integer.toHexString(gravity);
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+		mFirstLayout = true;
+		removeSettleFrame();
+		removeMetricsFrame();
+		if (AllocationCheck.ENABLED && mAllocationCheck != null) {
+			mAllocationCheck.stopSession();
+		}
+		if (mSlideDispatchPosted) {
+			removeCallbacks(mSlideDispatchRunnable);
+			mSlideDispatchPosted = false;
+			dispatchPendingSlides();
+		}
+	}
+
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+		mFirstLayout = true;
+		final float refreshRate = ((WindowManager) getContext().getSystemService(Context.WINDOW_SERVICE)).getDefaultDisplay()
+				.getRefreshRate();
+		mFrameIntervalNanos = refreshRate > 0 ? (long) (1000000000 / refreshRate) : DEFAULT_FRAME_INTERVAL;
+		if (mDragger.getViewDragState() == STATE_SETTLING || hasSideSettles()) {
+			postSettleFrame();
+		}
+		if (mDrawerMetrics != null && mDrawerState != STATE_IDLE) {
+			postMetricsFrame();
+		}
+	}
+
+	@Override
+	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+		// A child's LayoutParams may have changed while a layout was already
+		// pending, in which case requestLayout() was not called on us.
+		checkDrawerGravities();
+		if (DrawerTracer.ENABLED) {
+			trace(DrawerTracer.EVENT_MEASURE, MeasureSpec.getSize(widthMeasureSpec), MeasureSpec.getSize(heightMeasureSpec), 0);
+		}
+		int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+		int heightMode = MeasureSpec.getMode(heightMeasureSpec);
+		int widthSize = MeasureSpec.getSize(widthMeasureSpec);
+		int heightSize = MeasureSpec.getSize(heightMeasureSpec);
+
+		if (widthMode != MeasureSpec.EXACTLY || heightMode != MeasureSpec.EXACTLY) {
+			if (isInEditMode()) {
+				if (widthMode == MeasureSpec.AT_MOST) {
+					widthMode = MeasureSpec.EXACTLY;
+				} else if (widthMode == MeasureSpec.UNSPECIFIED) {
+					widthMode = MeasureSpec.EXACTLY;
+					widthSize = 300;
+				}
+				if (heightMode == MeasureSpec.AT_MOST) {
+					heightMode = MeasureSpec.EXACTLY;
+				} else if (heightMode == MeasureSpec.UNSPECIFIED) {
+					heightMode = MeasureSpec.EXACTLY;
+					heightSize = 300;
+				}
+			} else {
+				throw new IllegalArgumentException("DrawerLayout must be measured with MeasureSpec.EXACTLY.");
+			}
+		}
+
+		setMeasuredDimension(widthSize, heightSize);
+		final boolean specsChanged = widthMeasureSpec != mLastWidthMeasureSpec || heightMeasureSpec != mLastHeightMeasureSpec;
+		mLastWidthMeasureSpec = widthMeasureSpec;
+		mLastHeightMeasureSpec = heightMeasureSpec;
+
+		final int layoutDirection = ViewCompat.getLayoutDirection(this);
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			final View child = getChildAt(i);
+
+			if (child.getVisibility() == GONE) {
+				continue;
+			}
+
+			final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+
+			if (isContentView(child)) {
+				// Content views get measured at exactly the layout's size.
+				final int contentWidthSpec = MeasureSpec.makeMeasureSpec(widthSize - lp.leftMargin - lp.rightMargin, MeasureSpec.EXACTLY);
+				final int contentHeightSpec = MeasureSpec.makeMeasureSpec(heightSize - lp.topMargin - lp.bottomMargin, MeasureSpec.EXACTLY);
+				child.measure(contentWidthSpec, contentHeightSpec);
+			} else if (isDrawerView(child)) {
+				if (mLazyDrawers && isDrawerClosedAndIdle(child)) {
+					// Measured and laid out by ensureDrawerReady once it is
+					// about to become visible.
+					lp.measureDeferred = true;
+					continue;
+				}
+				lp.measureDeferred = false;
+				if (lp.layoutValid && !specsChanged && !child.isLayoutRequested() && isDrawerClosedAndIdle(child)) {
+					// Only the content or another drawer asked for layout;
+					// this drawer stays where it is until it next moves.
+					continue;
+				}
+				measureDrawer(child, lp, widthMeasureSpec, heightMeasureSpec);
+			} else {
+				// Only the first child along an edge is indexed as its drawer.
+				final int index = drawerIndexForGravity(GravityCompat.getAbsoluteGravity(lp.gravity, layoutDirection));
+				if (index >= 0) {
+					throw new IllegalStateException("Child drawer has absolute gravity " + gravityToString(mDrawerGravities[index])
+							+ " but this " + TAG + " already has a " + "drawer view along that edge");
+				}
+				throw new IllegalStateException("Child " + child + " at index " + i
+						+ " does not have a valid layout_gravity - must be the gravity of a drawer edge or Gravity.NO_GRAVITY");
+			}
+		}
+	}
+
+	private void measureDrawer(View child, LayoutParams lp, int widthMeasureSpec, int heightMeasureSpec) {
+		// The minimum margin only applies along the axis the drawer slides on.
+		final int absGravity = getDrawerViewAbsoluteGravity(child);
+		final boolean horizontal = absGravity == Gravity.LEFT || absGravity == Gravity.RIGHT;
+		final int drawerWidthSpec = getChildMeasureSpec(widthMeasureSpec,
+				(horizontal ? mMinDrawerMargin : 0) + lp.leftMargin + lp.rightMargin, lp.width);
+		final int drawerHeightSpec = getChildMeasureSpec(heightMeasureSpec,
+				(horizontal ? 0 : mMinDrawerMargin) + lp.topMargin + lp.bottomMargin, lp.height);
+		child.measure(drawerWidthSpec, drawerHeightSpec);
+		lp.layoutValid = false;
+	}
+
+	private boolean isDrawerClosedAndIdle(View child) {
+		final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+		return lp.onScreen == 0 && !lp.isPeeking && mDragger.getCapturedView() != child;
+	}
+
+	/**
+	 * Make a drawer ready to move on screen: inflate it if it is still a
+	 * {@link ViewStub}, and measure and lay it out if its last measure was
+	 * deferred while it was closed.
+	 * 
+	 * @param drawerView
+	 *            Drawer view or stub
+	 * @return The drawer view, which replaces drawerView if it was a stub
+	 */
+	View ensureDrawerReady(View drawerView) {
+		View drawer = drawerView;
+		if (drawer instanceof ViewStub) {
+			// The inflated view takes over the stub's LayoutParams, and with
+			// them its gravity and offset.
+			drawer = ((ViewStub) drawer).inflate();
+			mDrawerIndexDirty = true;
+			((LayoutParams) drawer.getLayoutParams()).measureDeferred = true;
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_DRAWER_INFLATED, getDrawerViewAbsoluteGravity(drawer), 0, 0);
+			}
+		}
+		final LayoutParams lp = (LayoutParams) drawer.getLayoutParams();
+		if (lp.measureDeferred && !mFirstLayout) {
+			// Without a previous pass the next layout takes care of it.
+			lp.measureDeferred = false;
+			mInLayout = true;
+			measureDrawer(drawer, lp, mLastWidthMeasureSpec, mLastHeightMeasureSpec);
+			layoutDrawer(drawer, lp, getWidth(), getHeight(), mDragger.getMoveMode() == MOVE_MODE_TRANSLATION);
+			mInLayout = false;
+		}
+		return drawer;
+	}
+
+	@Override
+	protected void onLayout(boolean changed, int l, int t, int r, int b) {
+		if (DrawerTracer.ENABLED) {
+			trace(DrawerTracer.EVENT_LAYOUT, r - l, b - t, changed ? 1 : 0);
+		}
+		mInLayout = true;
+		final boolean translate = mDragger.getMoveMode() == MOVE_MODE_TRANSLATION;
+		final int width = r - l;
+		final int height = b - t;
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			final View child = getChildAt(i);
+			if (child.getVisibility() == GONE) {
+				continue;
+			}
+			final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+			if (isContentView(child)) {
+				child.layout(lp.leftMargin, lp.topMargin, lp.leftMargin + child.getMeasuredWidth(),
+						lp.topMargin + child.getMeasuredHeight());
+			} else if (!lp.measureDeferred && (changed || !lp.layoutValid)) {
+				layoutDrawer(child, lp, width, height, translate);
+			}
+		}
+		mInLayout = false;
+		mFirstLayout = false;
+		mContentClipDirty = true;
+	}
+
+	/**
+	 * Called before a drawer is positioned during layout, so that its offset
+	 * can follow a change in its size.
+	 * 
+	 * @param drawerView
+	 *            Drawer about to be laid out, already measured
+	 */
+	void onLayoutDrawer(View drawerView) {
+	}
+
+	/**
+	 * Position a measured drawer for its current offset.
+	 */
+	private void layoutDrawer(View child, LayoutParams lp, int width, int height, boolean translate) {
+		onLayoutDrawer(child);
+		final int childWidth = child.getMeasuredWidth();
+		final int childHeight = child.getMeasuredHeight();
+		// In translation mode drawers are laid out closed and
+		// translated into place below.
+		final float layoutOnScreen = translate ? 0 : lp.onScreen;
+		final int absGravity = getDrawerViewAbsoluteGravity(child);
+		int childLeft = 0;
+		int childTop = 0;
+		final float newOffset;
+
+		// Along the drawer's axis
+		switch (absGravity) {
+		case Gravity.LEFT:
+			childLeft = -childWidth + (int) (childWidth * layoutOnScreen);
+			newOffset = (float) (childWidth + childLeft) / childWidth;
+			break;
+		case Gravity.RIGHT:
+			childLeft = width - (int) (childWidth * layoutOnScreen);
+			newOffset = (float) (width - childLeft) / childWidth;
+			break;
+		case Gravity.TOP:
+			childTop = -childHeight + (int) (childHeight * layoutOnScreen);
+			newOffset = (float) (childHeight + childTop) / childHeight;
+			break;
+		default:
+			childTop = height - (int) (childHeight * layoutOnScreen);
+			newOffset = (float) (height - childTop) / childHeight;
+			break;
+		}
+
+		// Across it, following the rest of the drawer's layout_gravity
+		if (absGravity == Gravity.LEFT || absGravity == Gravity.RIGHT) {
+			switch (lp.gravity & Gravity.VERTICAL_GRAVITY_MASK) {
+			case Gravity.BOTTOM:
+				childTop = height - lp.bottomMargin - childHeight;
+				break;
+			case Gravity.CENTER_VERTICAL:
+				childTop = (height - childHeight) / 2;
+				// Offset for margins. If things don't fit right because of
+				// bad measurement before, oh well.
+				if (childTop < lp.topMargin) {
+					childTop = lp.topMargin;
+				} else if (childTop + childHeight > height - lp.bottomMargin) {
+					childTop = height - lp.bottomMargin - childHeight;
+				}
+				break;
+			default:
+				childTop = lp.topMargin;
+				break;
+			}
+		} else {
+			final int hgrav = GravityCompat.getAbsoluteGravity(lp.gravity, ViewCompat.getLayoutDirection(this))
+					& Gravity.HORIZONTAL_GRAVITY_MASK;
+			switch (hgrav) {
+			case Gravity.RIGHT:
+				childLeft = width - lp.rightMargin - childWidth;
+				break;
+			case Gravity.CENTER_HORIZONTAL:
+				childLeft = (width - childWidth) / 2;
+				if (childLeft < lp.leftMargin) {
+					childLeft = lp.leftMargin;
+				} else if (childLeft + childWidth > width - lp.rightMargin) {
+					childLeft = width - lp.rightMargin - childWidth;
+				}
+				break;
+			default:
+				childLeft = lp.leftMargin;
+				break;
+			}
+		}
+		child.layout(childLeft, childTop, childLeft + childWidth, childTop + childHeight);
+
+		if (translate) {
+			applyDrawerTranslation(child, lp.onScreen);
+		} else if (newOffset != lp.onScreen) {
+			setDrawerViewOffset(child, newOffset);
+		}
+
+		final int newVisibility = lp.onScreen > 0 ? VISIBLE : INVISIBLE;
+		if (child.getVisibility() != newVisibility) {
+			child.setVisibility(newVisibility);
+		}
+		lp.layoutValid = true;
+	}
+
+	@Override
+	public void requestLayout() {
+		// Changing a child's LayoutParams passes through here; added and
+		// removed children are caught by the hierarchy listener.
+		checkDrawerGravities();
+		mContentClipDirty = true;
+		if (!mInLayout) {
+			super.requestLayout();
+		}
+	}
+
+	@Override
+	public void setOnHierarchyChangeListener(OnHierarchyChangeListener listener) {
+		// The layout keeps its own listener installed to track its drawers.
+		mOnHierarchyChangeListener = listener;
+	}
+
+	@Override
+	public void onRtlPropertiesChanged(int layoutDirection) {
+		super.onRtlPropertiesChanged(layoutDirection);
+		mDrawerIndexDirty = true;
+		// Drawers may have swapped edges.
+		invalidateDrawerLayouts();
+	}
+
+	/**
+	 * Force every drawer to be measured and laid out on the next pass, even if
+	 * it is closed.
+	 */
+	private void invalidateDrawerLayouts() {
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			((LayoutParams) getChildAt(i).getLayoutParams()).layoutValid = false;
+		}
+	}
+
+	private boolean isPredictingDrag() {
+		return mDragger.getViewDragState() == STATE_DRAGGING && mDragger.getTouchPredictionHorizon() > 0;
+	}
+
+	private void postSettleFrame() {
+		if (!mSettleFramePosted) {
+			mSettleFramePosted = true;
+			Choreographer.getInstance().postFrameCallback(mSettleFrameCallback);
+		}
+	}
+
+	private void removeSettleFrame() {
+		if (mSettleFramePosted) {
+			mSettleFramePosted = false;
+			Choreographer.getInstance().removeFrameCallback(mSettleFrameCallback);
+		}
+	}
+
+	private void postMetricsFrame() {
+		if (!mMetricsFramePosted) {
+			mMetricsFramePosted = true;
+			Choreographer.getInstance().postFrameCallback(mMetricsFrameCallback);
+		}
+	}
+
+	private void removeMetricsFrame() {
+		if (mMetricsFramePosted) {
+			mMetricsFramePosted = false;
+			Choreographer.getInstance().removeFrameCallback(mMetricsFrameCallback);
+		}
+	}
+
+	/**
+	 * Recompute the scrim opacity and the content clip if a drawer has moved
+	 * or the layout changed since the last call. Drawer background opacity is
+	 * sampled here as well.
+	 */
+	private void updateContentClip() {
+		if (!mContentClipDirty) {
+			return;
+		}
+		mContentClipDirty = false;
+		ensureDrawerIndex();
+
+		final int width = getWidth();
+		final int height = getHeight();
+		int clipLeft = 0, clipRight = width;
+		int clipTop = 0, clipBottom = height;
+		float scrimOpacity = 0;
+		final View[] drawers = mDrawers;
+		for (int i = 0; i < drawers.length; i++) {
+			final View v = drawers[i];
+			if (v == null) {
+				continue;
+			}
+			scrimOpacity = Math.max(scrimOpacity, ((LayoutParams) v.getLayoutParams()).onScreen);
+			if (v.getVisibility() != VISIBLE || !hasOpaqueBackground(v)) {
+				continue;
+			}
+			final int left = mDragger.getViewLeft(v);
+			final int top = mDragger.getViewTop(v);
+			switch (mDrawerGravities[i]) {
+			case Gravity.LEFT:
+				if (v.getHeight() >= height && left + v.getWidth() > clipLeft)
+					clipLeft = left + v.getWidth();
+				break;
+			case Gravity.RIGHT:
+				if (v.getHeight() >= height && left < clipRight)
+					clipRight = left;
+				break;
+			case Gravity.TOP:
+				if (v.getWidth() >= width && top + v.getHeight() > clipTop)
+					clipTop = top + v.getHeight();
+				break;
+			case Gravity.BOTTOM:
+				if (v.getWidth() >= width && top < clipBottom)
+					clipBottom = top;
+				break;
+			}
+		}
+		mContentClip.set(clipLeft, clipTop, clipRight, clipBottom);
+		mScrimOpacity = scrimOpacity;
+	}
+
+	/**
+	 * Invalidate the area affected by a drawer moving by (dx, dy): the
+	 * drawer's old and new bounds plus its shadow and, while a scrim is
+	 * drawn, the content area it covers before and after the move, since its
+	 * alpha follows the drawer.
+	 */
+	void invalidateDrawerMotion(View drawerView, int dx, int dy) {
+		mContentClipDirty = true;
+		final boolean scrim = (mScrimColor & 0xff000000) != 0;
+		final int pad = getShadowExtent(drawerView);
+		if (!scrim && pad == 0 && mDragger.getMoveMode() == MOVE_MODE_TRANSLATION && !hasOpaqueBackground(drawerView)) {
+			// The drawer invalidates itself as its translation changes and
+			// nothing drawn here depends on where it is.
+			return;
+		}
+		final int left = mDragger.getViewLeft(drawerView);
+		final int top = mDragger.getViewTop(drawerView);
+		final int right = left + drawerView.getWidth();
+		final int bottom = top + drawerView.getHeight();
+		final Rect dirty = mMotionDirty;
+		dirty.set(Math.min(left, left - dx) - pad, Math.min(top, top - dy) - pad, Math.max(right, right - dx) + pad,
+				Math.max(bottom, bottom - dy) + pad);
+		if (scrim) {
+			// The clip is still the one last drawn; recompute it for the new
+			// position so both are covered.
+			dirty.union(mContentClip);
+			updateContentClip();
+			dirty.union(mContentClip);
+		}
+		invalidate(dirty.left, dirty.top, dirty.right, dirty.bottom);
+	}
+
+	private static int shadowExtent(Drawable shadow) {
+		return shadow != null ? Math.max(shadow.getIntrinsicWidth(), shadow.getIntrinsicHeight()) : 0;
+	}
+
+	private int getShadowExtent(View drawerView) {
+		switch (getDrawerViewAbsoluteGravity(drawerView)) {
+		case Gravity.LEFT:
+			return shadowExtent(mShadowLeft);
+		case Gravity.RIGHT:
+			return shadowExtent(mShadowRight);
+		case Gravity.TOP:
+			return shadowExtent(mShadowTop);
+		default:
+			return shadowExtent(mShadowBottom);
+		}
+	}
+
+	private static boolean hasOpaqueBackground(View v) {
+		final Drawable bg = v.getBackground();
+		if (bg != null) {
+			return bg.getOpacity() == PixelFormat.OPAQUE;
+		}
+		return false;
+	}
+
+	@Override
+	protected void dispatchDraw(Canvas canvas) {
+		super.dispatchDraw(canvas);
+		if (mLatencyProbe != null) {
+			mLatencyProbe.mark(GestureLatencyProbe.STAGE_FIRST_DRAW);
+		}
+	}
+
+	@Override
+	protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+		final boolean drawingContent = isContentView(child);
+		if (DrawerTracer.ENABLED) {
+			final int absGravity = drawingContent ? Gravity.NO_GRAVITY : getDrawerViewAbsoluteGravity(child);
+			trace(DrawerTracer.EVENT_DRAW_CHILD, absGravity, drawingContent ? 1 : 0, 0);
+		}
+		final int restoreCount = canvas.save();
+		if (drawingContent) {
+			updateContentClip();
+			canvas.clipRect(mContentClip);
+		}
+		final boolean result = super.drawChild(canvas, child, drawingTime);
+		canvas.restoreToCount(restoreCount);
+
+		if (mScrimOpacity > 0 && drawingContent) {
+			final int baseAlpha = (mScrimColor & 0xff000000) >>> 24;
+			final int imag = (int) (baseAlpha * mScrimOpacity);
+			final int color = imag << 24 | (mScrimColor & 0xffffff);
+			mScrimPaint.setColor(color);
+			canvas.drawRect(mContentClip, mScrimPaint);
+		} else if (mShadowLeft != null && checkDrawerViewAbsoluteGravity(child, Gravity.LEFT)) {
+			final int shadowWidth = mShadowLeft.getIntrinsicWidth();
+			final int childTop = mDragger.getViewTop(child);
+			final int childRight = mDragger.getViewLeft(child) + child.getWidth();
+			final int drawerPeekDistance = mDragger.getEdgeSize();
+			final float alpha = Math.max(0, Math.min((float) childRight / drawerPeekDistance, 1.f));
+			mShadowLeft.setBounds(childRight, childTop, childRight + shadowWidth, childTop + child.getHeight());
+			mShadowLeft.setAlpha((int) (0xff * alpha));
+			mShadowLeft.draw(canvas);
+		} else if (mShadowRight != null && checkDrawerViewAbsoluteGravity(child, Gravity.RIGHT)) {
+			final int shadowWidth = mShadowRight.getIntrinsicWidth();
+			final int childLeft = mDragger.getViewLeft(child);
+			final int childTop = mDragger.getViewTop(child);
+			final int showing = getWidth() - childLeft;
+			final int drawerPeekDistance = mDragger.getEdgeSize();
+			final float alpha = Math.max(0, Math.min((float) showing / drawerPeekDistance, 1.f));
+			mShadowRight.setBounds(childLeft - shadowWidth, childTop, childLeft, childTop + child.getHeight());
+			mShadowRight.setAlpha((int) (0xff * alpha));
+			mShadowRight.draw(canvas);
+		} else if (mShadowTop != null && checkDrawerViewAbsoluteGravity(child, Gravity.TOP)) {
+			final int shadowHeight = mShadowTop.getIntrinsicHeight();
+			final int childLeft = mDragger.getViewLeft(child);
+			final int childBottom = mDragger.getViewTop(child) + child.getHeight();
+			final int drawerPeekDistance = mDragger.getEdgeSize();
+			final float alpha = Math.max(0, Math.min((float) childBottom / drawerPeekDistance, 1.f));
+			mShadowTop.setBounds(childLeft, childBottom, childLeft + child.getWidth(), childBottom + shadowHeight);
+			mShadowTop.setAlpha((int) (0xff * alpha));
+			mShadowTop.draw(canvas);
+		} else if (mShadowBottom != null && checkDrawerViewAbsoluteGravity(child, Gravity.BOTTOM)) {
+			final int shadowHeight = mShadowBottom.getIntrinsicHeight();
+			final int childLeft = mDragger.getViewLeft(child);
+			final int childTop = mDragger.getViewTop(child);
+			final int showing = getHeight() - childTop;
+			final int drawerPeekDistance = mDragger.getEdgeSize();
+			final float alpha = Math.max(0, Math.min((float) showing / drawerPeekDistance, 1.f));
+			mShadowBottom.setBounds(childLeft, childTop - shadowHeight, childLeft + child.getWidth(), childTop);
+			mShadowBottom.setAlpha((int) (0xff * alpha));
+			mShadowBottom.draw(canvas);
+		}
+		return result;
+	}
+
+	boolean isContentView(View child) {
+		return ((LayoutParams) child.getLayoutParams()).gravity == Gravity.NO_GRAVITY;
+	}
+
+	boolean isDrawerView(View child) {
+		return indexOfDrawer(child) >= 0;
+	}
+
+	@Override
+	public boolean dispatchTouchEvent(MotionEvent ev) {
+		final int action = MotionEventCompat.getActionMasked(ev);
+		if (action == MotionEvent.ACTION_DOWN) {
+			if (mDrawerTuner != null) {
+				mDrawerTuner.onTouchDown(ev.getEventTime());
+				applyTuning();
+			}
+			if (mDrawerMetrics != null) {
+				mDrawerMetrics.onTouchDown(ev.getEventTime());
+			}
+			if (mLatencyProbe != null) {
+				mLatencyProbe.onDown(ev.getEventTime());
+			}
+			mEdgeArbiter.onDown(MotionEventCompat.getPointerId(ev, 0), ev.getX(), ev.getY(), ev.getEventTime());
+		} else if (action == MotionEvent.ACTION_MOVE) {
+			// Fed here so that a sample is scored before the ViewDragHelper
+			// sees it and reports edge drags for it.
+			final int pointerId = mEdgeArbiter.getPointerId();
+			if (mEdgeArbiter.isArbitrating(pointerId)) {
+				final int index = MotionEventCompat.findPointerIndex(ev, pointerId);
+				if (index >= 0) {
+					final int edge = mEdgeArbiter.addSample(MotionEventCompat.getX(ev, index),
+							MotionEventCompat.getY(ev, index), ev.getEventTime());
+					if (edge != 0) {
+						mCallback.onEdgeArbitrated(edge, true);
+					}
+				}
+			}
+		}
+		if (mGestureRecorder != null) {
+			// Recorded here rather than in onInterceptTouchEvent and
+			// onTouchEvent so every event is seen exactly once.
+			mGestureRecorder.recordMotionEvent(ev);
+		}
+		if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+			if (mDrawerTuner != null) {
+				mDrawerTuner.onTouchUp();
+			}
+			if (mDrawerMetrics != null) {
+				mDrawerMetrics.onTouchUp();
+			}
+			if (mLatencyProbe != null) {
+				mLatencyProbe.onUp();
+			}
+			mEdgeArbiter.reset();
+		}
+		return super.dispatchTouchEvent(ev);
+	}
+
+	@Override
+	public boolean onInterceptTouchEvent(MotionEvent ev) {
+		final int action = MotionEventCompat.getActionMasked(ev);
+
+		final boolean interceptForDrag = mDragger.shouldInterceptTouchEvent(ev);
+		boolean interceptForTap = false;
+		switch (action) {
+		case MotionEvent.ACTION_DOWN: {
+			final float x = ev.getX();
+			final float y = ev.getY();
+			mInitialMotionX = x;
+			mInitialMotionY = y;
+			if (mScrimOpacity > 0) {
+				final View child = mDragger.findTopChildUnder((int) x, (int) y);
+				if (child != null && isContentView(child)) {
+					interceptForTap = true;
+				}
+			}
+			mDisallowInterceptRequested = false;
+			mChildrenCanceledTouch = false;
+			break;
+		}
+
+		case MotionEvent.ACTION_MOVE: {
+			// If we cross the touch slop, don't perform the delayed peek for an
+			// edge touch.
+			if (mDragger.checkTouchSlop(ViewDragHelper.DIRECTION_ALL)) {
+				mCallback.removeCallbacks();
+			}
+			break;
+		}
+
+		case MotionEvent.ACTION_CANCEL:
+		case MotionEvent.ACTION_UP: {
+			closeDrawers(true);
+			mDisallowInterceptRequested = false;
+			mChildrenCanceledTouch = false;
+		}
+		}
+
+		boolean result = interceptForDrag || interceptForTap || hasPeekingDrawer() || mChildrenCanceledTouch;
+		if (DrawerTracer.ENABLED) {
+			trace(DrawerTracer.EVENT_INTERCEPT_TOUCH, action, result ? 1 : 0, 0);
+		}
+		return result;
+	}
+
+	@Override
+	public boolean onTouchEvent(MotionEvent ev) {
+		final int action = ev.getAction();
+		boolean wantTouchEvents = true;
+
+		final boolean checkAllocations = AllocationCheck.ENABLED && mAllocationCheck != null
+				&& (action & MotionEventCompat.ACTION_MASK) == MotionEvent.ACTION_MOVE && mDrawerState == STATE_DRAGGING;
+		if (checkAllocations) {
+			mAllocationCheck.begin();
+		}
+		mDragger.processTouchEvent(ev);
+		if (checkAllocations) {
+			mAllocationCheck.end("drag move");
+		}
+
+		switch (action & MotionEventCompat.ACTION_MASK) {
+		case MotionEvent.ACTION_DOWN: {
+			final float x = ev.getX();
+			final float y = ev.getY();
+			mInitialMotionX = x;
+			mInitialMotionY = y;
+			mDisallowInterceptRequested = false;
+			mChildrenCanceledTouch = false;
+			break;
+		}
+
+		case MotionEvent.ACTION_UP: {
+			final float x = ev.getX();
+			final float y = ev.getY();
+			boolean peekingOnly = true;
+			final View touchedView = mDragger.findTopChildUnder((int) x, (int) y);
+			if (touchedView != null && isContentView(touchedView)) {
+				final float dx = x - mInitialMotionX;
+				final float dy = y - mInitialMotionY;
+				final int slop = mDragger.getTouchSlop();
+				if (dx * dx + dy * dy < slop * slop) {
+					// Taps close a dimmed open drawer but only if it isn't
+					// locked open.
+					final View openDrawer = findOpenDrawer();
+					if (openDrawer != null) {
+						peekingOnly = getDrawerLockMode(openDrawer) == LOCK_MODE_LOCKED_OPEN;
+					}
+				}
+			}
+			closeDrawers(peekingOnly);
+			mDisallowInterceptRequested = false;
+			break;
+		}
+
+		case MotionEvent.ACTION_CANCEL: {
+			closeDrawers(true);
+			mDisallowInterceptRequested = false;
+			mChildrenCanceledTouch = false;
+			break;
+		}
+		}
+
+		boolean result = wantTouchEvents;
+		if (DrawerTracer.ENABLED) {
+			trace(DrawerTracer.EVENT_TOUCH, action & MotionEventCompat.ACTION_MASK, result ? 1 : 0, 0);
+		}
+		return result;
+	}
+
+	public void requestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+		if (CHILDREN_DISALLOW_INTERCEPT || !mDragger.isEdgeTouched(ViewDragHelper.EDGE_ALL)) {
+			// If we have an edge touch we want to skip this and track it for
+			// later instead.
+			super.requestDisallowInterceptTouchEvent(disallowIntercept);
+		}
+		mDisallowInterceptRequested = disallowIntercept;
+		if (disallowIntercept) {
+			closeDrawers(true);
+		}
+	}
+
+	/**
+	 * Close all currently open drawer views by animating them out of view.
+	 */
+	public void closeDrawers() {
+		closeDrawers(false);
+	}
+
+	void closeDrawers(boolean peekingOnly) {
+		boolean needsInvalidate = false;
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			final View child = getChildAt(i);
+			final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+
+			if (!isDrawerView(child) || (peekingOnly && !lp.isPeeking)) {
+				continue;
+			}
+
+			needsInvalidate |= slideDrawerToOffset(child, 0.f);
+			lp.isPeeking = false;
+		}
+
+		mCallback.removeCallbacks();
+
+		if (needsInvalidate) {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Animate a drawer to the given offset, for example 1 for fully open or 0
+	 * for closed.
+	 * 
+	 * <p>
+	 * All drawers share one ViewDragHelper, which can only move a single view
+	 * at a time. If the helper is already dragging or settling a different
+	 * drawer, this drawer slides on its own from the settle frame callback
+	 * instead of interrupting that motion. The layout stays out of
+	 * {@link #STATE_IDLE} until both motions have finished.
+	 * </p>
+	 * 
+	 * @param drawerView
+	 *            Drawer to move
+	 * @param offset
+	 *            Offset to move the drawer to, from 0 to 1
+	 * @return true if an animation was started and the caller should
+	 *         invalidate
+	 */
+	boolean slideDrawerToOffset(View drawerView, float offset) {
+		final int left = getDrawerLeftForOffset(drawerView, offset);
+		final int top = getDrawerTopForOffset(drawerView, offset);
+		final LayoutParams lp = (LayoutParams) drawerView.getLayoutParams();
+
+		final View captured = mDragger.getCapturedView();
+		if (mDragger.getViewDragState() == STATE_IDLE || captured == null || captured == drawerView) {
+			lp.sideSettleStart = -1;
+			return mDragger.smoothSlideViewTo(drawerView, left, top);
+		}
+
+		final int startLeft = mDragger.getViewLeft(drawerView);
+		final int startTop = mDragger.getViewTop(drawerView);
+		final int dx = left - startLeft;
+		final int dy = top - startTop;
+		if (dx == 0 && dy == 0) {
+			lp.sideSettleStart = -1;
+			return false;
+		}
+		lp.sideSettleFromLeft = startLeft;
+		lp.sideSettleFromTop = startTop;
+		lp.sideSettleToLeft = left;
+		lp.sideSettleToTop = top;
+		lp.sideSettleDuration = Math.max(1, ViewDragHelper.computeSettleDuration(dx, dy, 0, 0,
+				mCallback.getViewHorizontalDragRange(drawerView), mCallback.getViewVerticalDragRange(drawerView), getWidth(), 0, 0));
+		lp.sideSettleStart = System.nanoTime();
+		postSettleFrame();
+		return true;
+	}
+
+	private boolean hasSideSettles() {
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			if (((LayoutParams) getChildAt(i).getLayoutParams()).sideSettleStart >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Advance the drawers sliding outside of the ViewDragHelper, started by
+	 * {@link #slideDrawerToOffset(View, float)}, to the given frame time.
+	 * Uses the helper's settle curve. Drawers that arrive are reported by
+	 * {@link #dispatchSideSettlesFinished()}, so that their listeners run
+	 * outside of the frame's allocation check.
+	 * 
+	 * @param frameTimeNanos
+	 *            Frame time in the {@link System#nanoTime()} time base;
+	 *            Long.MAX_VALUE finishes every slide
+	 * @return true if a drawer is still sliding
+	 */
+	private boolean stepSideSettles(long frameTimeNanos) {
+		boolean settling = false;
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			final View child = getChildAt(i);
+			final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+			if (lp.sideSettleStart < 0) {
+				continue;
+			}
+			final long elapsedMillis = Math.max(0, frameTimeNanos - lp.sideSettleStart) / 1000000;
+			final boolean done = elapsedMillis >= lp.sideSettleDuration;
+			float t = done ? 0 : (float) elapsedMillis / lp.sideSettleDuration - 1;
+			t = t * t * t * t * t + 1;
+			final int left = lp.sideSettleFromLeft + Math.round((lp.sideSettleToLeft - lp.sideSettleFromLeft) * t);
+			final int top = lp.sideSettleFromTop + Math.round((lp.sideSettleToTop - lp.sideSettleFromTop) * t);
+			final int dx = left - mDragger.getViewLeft(child);
+			final int dy = top - mDragger.getViewTop(child);
+			if (dx != 0 || dy != 0) {
+				mDragger.offsetView(child, dx, dy);
+				mCallback.onViewPositionChanged(child, left, top, dx, dy);
+			}
+			if (done) {
+				lp.sideSettleStart = -1;
+				lp.sideSettleFinished = true;
+			} else {
+				settling = true;
+			}
+		}
+		return settling;
+	}
+
+	private void dispatchSideSettlesFinished() {
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			final View child = getChildAt(i);
+			final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+			if (lp.sideSettleFinished) {
+				lp.sideSettleFinished = false;
+				updateDrawerState(STATE_IDLE, child);
+			}
+		}
+	}
+
+	/**
+	 * @return The left edge of the drawer when it is shown at the given
+	 *         offset
+	 */
+	int getDrawerLeftForOffset(View drawerView, float offset) {
+		final int childWidth = drawerView.getWidth();
+		switch (getDrawerViewAbsoluteGravity(drawerView)) {
+		case Gravity.LEFT:
+			return -childWidth + (int) (childWidth * offset);
+		case Gravity.RIGHT:
+			return getWidth() - (int) (childWidth * offset);
+		default:
+			return mDragger.getViewLeft(drawerView);
+		}
+	}
+
+	/**
+	 * @return The top edge of the drawer when it is shown at the given offset
+	 */
+	int getDrawerTopForOffset(View drawerView, float offset) {
+		final int childHeight = drawerView.getHeight();
+		switch (getDrawerViewAbsoluteGravity(drawerView)) {
+		case Gravity.TOP:
+			return -childHeight + (int) (childHeight * offset);
+		case Gravity.BOTTOM:
+			return getHeight() - (int) (childHeight * offset);
+		default:
+			return mDragger.getViewTop(drawerView);
+		}
+	}
+
+	/**
+	 * Pick the offset a released drawer settles at. By default a fling
+	 * decides, and without one the drawer settles at the nearer end.
+	 * 
+	 * @param drawerView
+	 *            Drawer being released
+	 * @param offset
+	 *            Current offset of the drawer
+	 * @param openVelocity
+	 *            Release velocity in the drawer's opening direction, in pixels
+	 *            per second. Zero if it was below the fling threshold.
+	 * @return The offset to settle at
+	 */
+	float getReleaseOffset(View drawerView, float offset, float openVelocity) {
+		return openVelocity > 0 || openVelocity == 0 && offset > 0.5f ? 1.f : 0.f;
+	}
+
+	/**
+	 * Map edge flags reported by the ViewDragHelper to the gravity of the
+	 * drawer along that edge. If several edges are flagged (a corner), left
+	 * and right take precedence over top and bottom.
+	 */
+	static int edgeFlagsToGravity(int edgeFlags) {
+		if ((edgeFlags & ViewDragHelper.EDGE_LEFT) == ViewDragHelper.EDGE_LEFT) {
+			return Gravity.LEFT;
+		} else if ((edgeFlags & ViewDragHelper.EDGE_RIGHT) == ViewDragHelper.EDGE_RIGHT) {
+			return Gravity.RIGHT;
+		} else if ((edgeFlags & ViewDragHelper.EDGE_TOP) == ViewDragHelper.EDGE_TOP) {
+			return Gravity.TOP;
+		}
+		return Gravity.BOTTOM;
+	}
+
+	/**
+	 * @param edgeFlags
+	 *            Edge flags reported by the ViewDragHelper
+	 * @return The subset of edgeFlags whose drawers exist and are unlocked
+	 */
+	int getUnlockedDrawerEdges(int edgeFlags) {
+		int edges = 0;
+		for (int i = 0; i < EDGE_FLAGS.length; i++) {
+			if ((edgeFlags & EDGE_FLAGS[i]) == 0) {
+				continue;
+			}
+			final View drawer = findDrawerWithGravity(EDGE_GRAVITIES[i]);
+			if (drawer != null && getDrawerLockMode(drawer) == LOCK_MODE_UNLOCKED) {
+				edges |= EDGE_FLAGS[i];
+			}
+		}
+		return edges;
+	}
+
+	/**
+	 * Open the specified drawer view by animating it into view.
+	 * 
+	 * @param drawerView
+	 *            Drawer view to open
+	 */
+	public void openDrawer(View drawerView) {
+		if (!isDrawerView(drawerView)) {
+			throw new IllegalArgumentException("View " + drawerView + " is not a sliding drawer");
+		}
+		if (DrawerTracer.ENABLED) {
+			trace(DrawerTracer.EVENT_OPEN_DRAWER, getDrawerViewAbsoluteGravity(drawerView), 0, 0);
+		}
+		final View drawer = ensureDrawerReady(drawerView);
+
+		if (mFirstLayout) {
+			final LayoutParams lp = (LayoutParams) drawer.getLayoutParams();
+			lp.onScreen = 1.f;
+			lp.knownOpen = true;
+		} else {
+			slideDrawerToOffset(drawer, 1.f);
+		}
+		invalidate();
+	}
+
+	/**
+	 * Open the specified drawer by animating it out of view.
+	 * 
+	 * @param gravity
+	 *            Gravity.LEFT to move the left drawer or Gravity.RIGHT for the
+	 *            right. GravityCompat.START or GravityCompat.END may also be
+	 *            used.
+	 */
+	public void openDrawer(int gravity) {
+		final View drawerView = findDrawerWithGravity(gravity);
+		if (drawerView == null) {
+			throw new IllegalArgumentException("No drawer view found with gravity " + gravityToString(gravity));
+		}
+		openDrawer(drawerView);
+	}
+
+	/**
+	 * Close the specified drawer view by animating it into view.
+	 * 
+	 * @param drawerView
+	 *            Drawer view to close
+	 */
+	public void closeDrawer(View drawerView) {
+		if (!isDrawerView(drawerView)) {
+			throw new IllegalArgumentException("View " + drawerView + " is not a sliding drawer");
+		}
+		if (DrawerTracer.ENABLED) {
+			trace(DrawerTracer.EVENT_CLOSE_DRAWER, getDrawerViewAbsoluteGravity(drawerView), 0, 0);
+		}
+
+		if (mFirstLayout) {
+			final LayoutParams lp = (LayoutParams) drawerView.getLayoutParams();
+			lp.onScreen = 0.f;
+			lp.knownOpen = false;
+		} else {
+			slideDrawerToOffset(drawerView, 0.f);
+		}
+		invalidate();
+	}
+
+	/**
+	 * Close the specified drawer by animating it out of view.
+	 * 
+	 * @param gravity
+	 *            Gravity.LEFT to move the left drawer or Gravity.RIGHT for the
+	 *            right. GravityCompat.START or GravityCompat.END may also be
+	 *            used.
+	 */
+	public void closeDrawer(int gravity) {
+		final View drawerView = findDrawerWithGravity(gravity);
+		if (drawerView == null) {
+			throw new IllegalArgumentException("No drawer view found with gravity " + gravityToString(gravity));
+		}
+		closeDrawer(drawerView);
+	}
+
+	/**
+	 * Check if the given drawer view is currently in an open state. To be
+	 * considered "open" the drawer must have settled into its fully visible
+	 * state. To check for partial visibility use
+	 * {@link #isDrawerVisible(android.view.View)}.
+	 * 
+	 * @param drawer
+	 *            Drawer view to check
+	 * @return true if the given drawer view is in an open state
+	 * @see #isDrawerVisible(android.view.View)
+	 */
+	public boolean isDrawerOpen(View drawer) {
+		if (!isDrawerView(drawer)) {
+			throw new IllegalArgumentException("View " + drawer + " is not a drawer");
+		}
+		return ((LayoutParams) drawer.getLayoutParams()).knownOpen;
+	}
+
+	/**
+	 * Check if the given drawer view is currently in an open state. To be
+	 * considered "open" the drawer must have settled into its fully visible
+	 * state. If there is no drawer with the given gravity this method will
+	 * return false.
+	 * 
+	 * @param drawerGravity
+	 *            Gravity of the drawer to check
+	 * @return true if the given drawer view is in an open state
+	 */
+	public boolean isDrawerOpen(int drawerGravity) {
+		final View drawerView = findDrawerWithGravity(drawerGravity);
+		if (drawerView != null) {
+			return isDrawerOpen(drawerView);
+		}
+		return false;
+	}
+
+	/**
+	 * Check if a given drawer view is currently visible on-screen. The drawer
+	 * may be only peeking onto the screen, fully extended, or anywhere
+	 * inbetween.
+	 * 
+	 * @param drawer
+	 *            Drawer view to check
+	 * @return true if the given drawer is visible on-screen
+	 * @see #isDrawerOpen(android.view.View)
+	 */
+	public boolean isDrawerVisible(View drawer) {
+		if (!isDrawerView(drawer)) {
+			throw new IllegalArgumentException("View " + drawer + " is not a drawer");
+		}
+		return ((LayoutParams) drawer.getLayoutParams()).onScreen > 0;
+	}
+
+	/**
+	 * Check if a given drawer view is currently visible on-screen. The drawer
+	 * may be only peeking onto the screen, fully extended, or anywhere
+	 * inbetween. If there is no drawer with the given gravity this method will
+	 * return false.
+	 * 
+	 * @param drawerGravity
+	 *            Gravity of the drawer to check
+	 * @return true if the given drawer is visible on-screen
+	 */
+	public boolean isDrawerVisible(int drawerGravity) {
+		final View drawerView = findDrawerWithGravity(drawerGravity);
+		if (drawerView != null) {
+			return isDrawerVisible(drawerView);
+		}
+		return false;
+	}
+
+	private boolean hasPeekingDrawer() {
+		ensureDrawerIndex();
+		final View[] drawers = mDrawers;
+		for (int i = 0; i < drawers.length; i++) {
+			final View child = drawers[i];
+			if (child != null && ((LayoutParams) child.getLayoutParams()).isPeeking) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	protected ViewGroup.LayoutParams generateDefaultLayoutParams() {
+		return new LayoutParams(LayoutParams.FILL_PARENT, LayoutParams.FILL_PARENT);
+	}
+
+	@Override
+	protected ViewGroup.LayoutParams generateLayoutParams(ViewGroup.LayoutParams p) {
+		return p instanceof LayoutParams ? new LayoutParams((LayoutParams) p)
+				: p instanceof ViewGroup.MarginLayoutParams ? new LayoutParams((MarginLayoutParams) p) : new LayoutParams(p);
+	}
+
+	@Override
+	protected boolean checkLayoutParams(ViewGroup.LayoutParams p) {
+		return p instanceof LayoutParams && super.checkLayoutParams(p);
+	}
+
+	@Override
+	public ViewGroup.LayoutParams generateLayoutParams(AttributeSet attrs) {
+		return new LayoutParams(getContext(), attrs);
+	}
+
+	private boolean hasVisibleDrawer() {
+		return findVisibleDrawer() != null;
+	}
+
+	private View findVisibleDrawer() {
+		ensureDrawerIndex();
+		final View[] drawers = mDrawers;
+		for (int i = 0; i < drawers.length; i++) {
+			final View child = drawers[i];
+			if (child != null && isDrawerVisible(child)) {
+				return child;
+			}
+		}
+		return null;
+	}
+
+	void cancelChildViewTouch() {
+		// Cancel child touches
+		if (!mChildrenCanceledTouch) {
+			final long now = SystemClock.uptimeMillis();
+			final MotionEvent cancelEvent = MotionEvent.obtain(now, now, MotionEvent.ACTION_CANCEL, 0.0f, 0.0f, 0);
+			final int childCount = getChildCount();
+			for (int i = 0; i < childCount; i++) {
+				getChildAt(i).dispatchTouchEvent(cancelEvent);
+			}
+			cancelEvent.recycle();
+			mChildrenCanceledTouch = true;
+		}
+	}
+
+	@Override
+	public boolean onKeyDown(int keyCode, KeyEvent event) {
+		if (keyCode == KeyEvent.KEYCODE_BACK && hasVisibleDrawer()) {
+			KeyEventCompat.startTracking(event);
+			return true;
+		}
+		return super.onKeyDown(keyCode, event);
+	}
+
+	@Override
+	public boolean onKeyUp(int keyCode, KeyEvent event) {
+		if (keyCode == KeyEvent.KEYCODE_BACK) {
+			final View visibleDrawer = findVisibleDrawer();
+			if (visibleDrawer != null && getDrawerLockMode(visibleDrawer) == LOCK_MODE_UNLOCKED) {
+				closeDrawers();
+			}
+			return visibleDrawer != null;
+		}
+		return super.onKeyUp(keyCode, event);
+	}
+
+	@Override
+	protected void onRestoreInstanceState(Parcelable state) {
+		final SavedState ss = (SavedState) state;
+		super.onRestoreInstanceState(ss.getSuperState());
+
+		if (ss.openDrawerGravity != Gravity.NO_GRAVITY) {
+			final View toOpen = findDrawerWithGravity(ss.openDrawerGravity);
+			if (toOpen != null) {
+				openDrawer(toOpen);
+			}
+		}
+
+		if (ss.lockModes != null && ss.lockModes.length == mDrawerGravities.length) {
+			for (int i = 0; i < mDrawerGravities.length; i++) {
+				setDrawerLockMode(ss.lockModes[i], mDrawerGravities[i]);
+			}
+		}
+
+		onRestoreDrawerState(ss);
+	}
+
+	/**
+	 * Hook for subclasses to restore the state they added to
+	 * {@link SavedState} in {@link #onSaveDrawerState(SavedState)}. Called
+	 * after the open drawer and the lock modes have been restored.
+	 * 
+	 * @param ss
+	 *            State being restored
+	 */
+	protected void onRestoreDrawerState(SavedState ss) {
+	}
+
+	/**
+	 * Hook for subclasses to add their own drawer state to the
+	 * {@link SavedState} of this layout. There is a single SavedState class
+	 * for every drawer layout so that restoring it never needs a nested,
+	 * app-loaded Parcelable.
+	 * 
+	 * @param ss
+	 *            State being saved
+	 */
+	protected void onSaveDrawerState(SavedState ss) {
+	}
+
+	@Override
+	protected Parcelable onSaveInstanceState() {
+		final Parcelable superState = super.onSaveInstanceState();
+
+		final SavedState ss = new SavedState(superState);
+
+		final int childCount = getChildCount();
+		for (int i = 0; i < childCount; i++) {
+			final View child = getChildAt(i);
+			if (!isDrawerView(child)) {
+				continue;
+			}
+
+			final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+			if (lp.knownOpen) {
+				ss.openDrawerGravity = lp.gravity;
+				// Only one drawer can be open at a time.
+				break;
+			}
+		}
+
+		ss.lockModes = mLockModes.clone();
+		onSaveDrawerState(ss);
+
+		return ss;
+	}
+
+	/**
+	 * State persisted across instances
+	 */
+	protected static class SavedState extends BaseSavedState {
+		int openDrawerGravity = Gravity.NO_GRAVITY;
+		// Lock modes by drawer index
+		int[] lockModes;
+		// Partially open drawer and the anchor it rests at, for layouts with
+		// anchors
+		int anchorDrawerGravity = Gravity.NO_GRAVITY;
+		int anchor;
+
+		public SavedState(Parcel in) {
+			super(in);
+			openDrawerGravity = in.readInt();
+			lockModes = in.createIntArray();
+			anchorDrawerGravity = in.readInt();
+			anchor = in.readInt();
+		}
+
+		public SavedState(Parcelable superState) {
+			super(superState);
+		}
+
+		@Override
+		public void writeToParcel(Parcel dest, int flags) {
+			super.writeToParcel(dest, flags);
+			dest.writeInt(openDrawerGravity);
+			dest.writeIntArray(lockModes);
+			dest.writeInt(anchorDrawerGravity);
+			dest.writeInt(anchor);
+		}
+
+		public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+			@Override
+			public SavedState createFromParcel(Parcel source) {
+				return new SavedState(source);
+			}
+
+			@Override
+			public SavedState[] newArray(int size) {
+				return new SavedState[size];
+			}
+		};
+	}
+
+	private class ViewDragCallback extends ViewDragHelper.Callback {
+		// Gravity of the drawer whose edge was last touched, for the delayed
+		// peek
+		private int mPeekGravity = Gravity.NO_GRAVITY;
+
+		private final Runnable mPeekRunnable = new Runnable() {
+			@Override
+			public void run() {
+				peekDrawer();
+			}
+		};
+
+		public void removeCallbacks() {
+			AbsDrawerLayout.this.removeCallbacks(mPeekRunnable);
+		}
+
+		@Override
+		public boolean tryCaptureView(View child, int pointerId) {
+			// A single ViewDragHelper serves every edge, so any unlocked drawer
+			// may be captured; its gravity decides how it moves.
+			return isDrawerView(child) && getDrawerLockMode(child) == LOCK_MODE_UNLOCKED;
+		}
+
+		@Override
+		public void onViewDragStateChanged(int state) {
+			final View captured = mDragger.getCapturedView();
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_DRAG_STATE, captured != null ? getDrawerViewAbsoluteGravity(captured) : Gravity.NO_GRAVITY,
+						state, 0);
+			}
+			if (mGestureRecorder != null) {
+				mGestureRecorder.recordDragState(state);
+			}
+			updateDrawerState(state, captured);
+		}
+
+		@Override
+		public void onViewPositionChanged(View changedView, int left, int top, int dx, int dy) {
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_POSITION_CHANGED, getDrawerViewAbsoluteGravity(changedView), left, top);
+			}
+			if (mLatencyProbe != null) {
+				mLatencyProbe.mark(GestureLatencyProbe.STAGE_FIRST_MOVE);
+			}
+			float offset = 0;
+			final int childWidth = changedView.getWidth();
+			final int childHeight = changedView.getHeight();
+			final int width = getWidth();
+			final int height = getHeight();
+
+			// This reverses the positioning shown in onLayout.
+			switch (getDrawerViewAbsoluteGravity(changedView)) {
+			case Gravity.LEFT:
+				offset = (float) (childWidth + left) / childWidth;
+				break;
+			case Gravity.RIGHT:
+				offset = (float) (width - left) / childWidth;
+				break;
+			case Gravity.TOP:
+				offset = (float) (childHeight + top) / childHeight;
+				break;
+			case Gravity.BOTTOM:
+				offset = (float) (height - top) / childHeight;
+				break;
+			default:
+				offset = (float) (height - top) / childHeight;
+				break;
+			}
+			setDrawerViewOffset(changedView, offset);
+			changedView.setVisibility(offset == 0 ? INVISIBLE : VISIBLE);
+			invalidateDrawerMotion(changedView, dx, dy);
+		}
+
+		@Override
+		public void onTouchSlopCrossed(View child, int pointerId) {
+			if (mLatencyProbe != null) {
+				mLatencyProbe.mark(GestureLatencyProbe.STAGE_SLOP);
+			}
+		}
+
+		@Override
+		public void onViewCaptured(View capturedChild, int activePointerId) {
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_VIEW_CAPTURED, getDrawerViewAbsoluteGravity(capturedChild), activePointerId, 0);
+			}
+			if (mLatencyProbe != null) {
+				mLatencyProbe.mark(GestureLatencyProbe.STAGE_CAPTURED);
+			}
+			final LayoutParams lp = (LayoutParams) capturedChild.getLayoutParams();
+			lp.isPeeking = false;
+			// The helper moves it from here on.
+			lp.sideSettleStart = -1;
+			closeOtherDrawers(capturedChild);
+		}
+
+		private void closeOtherDrawers(View keepOpen) {
+			final int childCount = getChildCount();
+			for (int i = 0; i < childCount; i++) {
+				final View child = getChildAt(i);
+				if (child != keepOpen && isDrawerView(child) && ((LayoutParams) child.getLayoutParams()).onScreen > 0) {
+					closeDrawer(child);
+				}
+			}
+		}
+
+		@Override
+		public void onViewReleased(View releasedChild, float xvel, float yvel) {
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_VIEW_RELEASED, getDrawerViewAbsoluteGravity(releasedChild), (int) xvel, (int) yvel);
+			}
+			final float openVelocity;
+			switch (getDrawerViewAbsoluteGravity(releasedChild)) {
+			case Gravity.LEFT:
+				openVelocity = xvel;
+				break;
+			case Gravity.RIGHT:
+				openVelocity = -xvel;
+				break;
+			case Gravity.TOP:
+				openVelocity = yvel;
+				break;
+			default:
+				openVelocity = -yvel;
+				break;
+			}
+			if (mDrawerTuner != null) {
+				mDrawerTuner.onViewReleased(openVelocity / getResources().getDisplayMetrics().density);
+			}
+			final float offset = getReleaseOffset(releasedChild, getDrawerViewOffset(releasedChild), openVelocity);
+			final int left = getDrawerLeftForOffset(releasedChild, offset);
+			final int top = getDrawerTopForOffset(releasedChild, offset);
+			mDragger.settleCapturedViewAt(left, top);
+			invalidate();
+		}
+
+		@Override
+		public void onEdgeTouched(int edgeFlags, int pointerId) {
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_EDGE_TOUCHED, edgeFlags, pointerId, 0);
+			}
+			if (mLatencyProbe != null) {
+				mLatencyProbe.mark(GestureLatencyProbe.STAGE_EDGE);
+			}
+			if (mDrawerTuner != null) {
+				mDrawerTuner.onEdgeTouched();
+			}
+			final int edges = getUnlockedDrawerEdges(edgeFlags);
+			if (mEdgeArbiter.start(pointerId, edges)) {
+				// A corner; neither drawer is prepared until the gesture shows
+				// which one it is after, or the peek delay runs out.
+				mPeekGravity = Gravity.NO_GRAVITY;
+			} else {
+				mPeekGravity = edgeFlagsToGravity(edges != 0 ? edges : edgeFlags);
+				final View drawer = findDrawerWithGravity(mPeekGravity);
+				if (drawer != null && getDrawerLockMode(drawer) == LOCK_MODE_UNLOCKED) {
+					// Get a lazy drawer ready while the peek delay runs.
+					ensureDrawerReady(drawer);
+				}
+			}
+			postDelayed(mPeekRunnable, getPeekDelay());
+		}
+
+		/**
+		 * Give a touch that landed on several edges to one of them.
+		 *
+		 * @param edge
+		 *            Winning edge flag
+		 * @param schedulePeek
+		 *            true to peek the winner once the peek delay, counted from
+		 *            the down, has passed
+		 */
+		void onEdgeArbitrated(int edge, boolean schedulePeek) {
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_EDGE_ARBITRATED, edge, mEdgeArbiter.getPointerId(), 0);
+			}
+			mPeekGravity = edgeFlagsToGravity(edge);
+			final View drawer = findDrawerWithGravity(mPeekGravity);
+			if (drawer != null && getDrawerLockMode(drawer) == LOCK_MODE_UNLOCKED) {
+				ensureDrawerReady(drawer);
+			}
+			AbsDrawerLayout.this.removeCallbacks(mPeekRunnable);
+			if (schedulePeek && mDragger.getViewDragState() == ViewDragHelper.STATE_IDLE) {
+				final long elapsed = SystemClock.uptimeMillis() - mEdgeArbiter.getDownTime();
+				postDelayed(mPeekRunnable, Math.max(0, getPeekDelay() - elapsed));
+			}
+		}
+
+		private void peekDrawer() {
+			if (mEdgeArbiter.isArbitrating(mEdgeArbiter.getPointerId())) {
+				// A corner hold or a drift that favours no edge yet; peek the
+				// best edge so far, ties going left, right, top, bottom.
+				onEdgeArbitrated(mEdgeArbiter.decide(), false);
+			}
+			final int gravity = mPeekGravity;
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_PEEK, gravity, 0, 0);
+			}
+			final View drawer = findDrawerWithGravity(gravity);
+			if (drawer == null || getDrawerLockMode(drawer) != LOCK_MODE_UNLOCKED) {
+				return;
+			}
+			final View toCapture = ensureDrawerReady(drawer);
+			final int peekDistance = mDragger.getEdgeSize();
+			final int currentLeft = mDragger.getViewLeft(toCapture);
+			final int currentTop = mDragger.getViewTop(toCapture);
+			int childLeft = currentLeft;
+			int childTop = currentTop;
+			final boolean canPeek;
+			switch (gravity) {
+			case Gravity.LEFT:
+				childLeft = -toCapture.getWidth() + peekDistance;
+				canPeek = currentLeft < childLeft;
+				break;
+			case Gravity.RIGHT:
+				childLeft = getWidth() - peekDistance;
+				canPeek = currentLeft > childLeft;
+				break;
+			case Gravity.TOP:
+				childTop = -toCapture.getHeight() + peekDistance;
+				canPeek = currentTop < childTop;
+				break;
+			default:
+				childTop = getHeight() - peekDistance;
+				canPeek = currentTop > childTop;
+				break;
+			}
+			if (canPeek) {
+				if (mDrawerTuner != null) {
+					mDrawerTuner.onPeek();
+				}
+				if (mDrawerMetrics != null) {
+					mDrawerMetrics.onPeek();
+				}
+				final LayoutParams lp = (LayoutParams) toCapture.getLayoutParams();
+				mDragger.smoothSlideViewTo(toCapture, childLeft, childTop);
+				lp.isPeeking = true;
+				invalidate();
+				closeOtherDrawers(toCapture);
+				cancelChildViewTouch();
+			}
+		}
+
+		@Override
+		public boolean onEdgeLock(int edgeFlags) {
+			if (ALLOW_EDGE_LOCK) {
+				final View drawer = findDrawerWithGravity(edgeFlagsToGravity(edgeFlags));
+				if (drawer != null && !isDrawerOpen(drawer)) {
+					closeDrawer(drawer);
+				}
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void onEdgeDragStarted(int edgeFlags, int pointerId) {
+			if (DrawerTracer.ENABLED) {
+				trace(DrawerTracer.EVENT_EDGE_DRAG_STARTED, edgeFlags, pointerId, 0);
+			}
+			int edges = edgeFlags;
+			if (mEdgeArbiter.isArbitrating(pointerId)) {
+				// The slop was crossed before the samples were conclusive.
+				onEdgeArbitrated(mEdgeArbiter.decide(), false);
+			}
+			if (mEdgeArbiter.hasWinner() && pointerId == mEdgeArbiter.getPointerId()) {
+				if ((edgeFlags & mEdgeArbiter.getWinner()) == 0) {
+					// Only the winning edge may capture its drawer.
+					return;
+				}
+				edges = mEdgeArbiter.getWinner();
+			}
+			if (mLatencyProbe != null) {
+				mLatencyProbe.mark(GestureLatencyProbe.STAGE_SLOP);
+			}
+			if (mDrawerTuner != null) {
+				mDrawerTuner.onEdgeDragStarted();
+			}
+			final View drawer = findDrawerWithGravity(edgeFlagsToGravity(edges));
+			if (drawer != null && getDrawerLockMode(drawer) == LOCK_MODE_UNLOCKED) {
+				mDragger.captureChildView(ensureDrawerReady(drawer), pointerId);
+			}
+		}
+
+		@Override
+		public int getViewHorizontalDragRange(View child) {
+			return (getDrawerViewAbsoluteGravity(child) & (Gravity.LEFT | Gravity.RIGHT)) != 0 ? child.getWidth() : 0;
+		}
+
+		@Override
+		public int getViewVerticalDragRange(View child) {
+			return (getDrawerViewAbsoluteGravity(child) & (Gravity.LEFT | Gravity.RIGHT)) == 0 ? child.getHeight() : 0;
+		}
+
+		@Override
+		public int clampViewPositionHorizontal(View child, int left, int dx) {
+			switch (getDrawerViewAbsoluteGravity(child)) {
+			case Gravity.LEFT:
+				return Math.max(-child.getWidth(), Math.min(left, 0));
+			case Gravity.TOP:
+			case Gravity.BOTTOM:
+				return mDragger.getViewLeft(child);
+			default:
+				final int width = getWidth();
+				return Math.max(width - child.getWidth(), Math.min(left, width));
+			}
+		}
+
+		@Override
+		public int clampViewPositionVertical(View child, int top, int dy) {
+			switch (getDrawerViewAbsoluteGravity(child)) {
+			case Gravity.LEFT:
+			case Gravity.RIGHT:
+				return mDragger.getViewTop(child);
+			case Gravity.TOP:
+				return Math.max(-child.getHeight(), Math.min(top, 0));
+			default:
+				final int height = getHeight();
+				return Math.max(height - child.getHeight(), Math.min(top, height));
+			}
+		}
+
+		@Override
+		public DrawerSettleEngine getSettleEngine(View child) {
+			final int index = indexOfDrawer(child);
+			return index >= 0 ? mSettleEngines[index] : null;
+		}
+	}
+
+	public static class LayoutParams extends ViewGroup.MarginLayoutParams {
+
+		public int gravity = Gravity.NO_GRAVITY;
+		// Gravity the drawer index was built with, -1 before indexing
+		int indexedGravity = -1;
+		float onScreen;
+		boolean isPeeking;
+		boolean knownOpen;
+		boolean slidePending;
+		boolean measureDeferred;
+		// Measured and laid out for the current layout size and offset
+		boolean layoutValid;
+		// Slide outside of the ViewDragHelper while it moves another drawer;
+		// start in the System.nanoTime() time base, -1 if not sliding
+		long sideSettleStart = -1;
+		int sideSettleDuration;
+		int sideSettleFromLeft;
+		int sideSettleFromTop;
+		int sideSettleToLeft;
+		int sideSettleToTop;
+		boolean sideSettleFinished;
+
+		public LayoutParams(Context c, AttributeSet attrs) {
+			super(c, attrs);
+
+			final TypedArray a = c.obtainStyledAttributes(attrs, LAYOUT_ATTRS);
+			this.gravity = a.getInt(0, Gravity.NO_GRAVITY);
+			a.recycle();
+		}
+
+		public LayoutParams(int width, int height) {
+			super(width, height);
+		}
+
+		public LayoutParams(int width, int height, int gravity) {
+			this(width, height);
+			this.gravity = gravity;
+		}
+
+		public LayoutParams(LayoutParams source) {
+			super(source);
+			this.gravity = source.gravity;
+		}
+
+		public LayoutParams(ViewGroup.LayoutParams source) {
+			super(source);
+		}
+
+		public LayoutParams(ViewGroup.MarginLayoutParams source) {
+			super(source);
+		}
+	}
+
+	class AccessibilityDelegate extends AccessibilityDelegateCompat {
+		private final Rect mTmpRect = new Rect();
+
+		@Override
+		public void onInitializeAccessibilityNodeInfo(View host, AccessibilityNodeInfoCompat info) {
+			final AccessibilityNodeInfoCompat superNode = AccessibilityNodeInfoCompat.obtain(info);
+			super.onInitializeAccessibilityNodeInfo(host, superNode);
+
+			info.setSource(host);
+			final ViewParent parent = ViewCompat.getParentForAccessibility(host);
+			if (parent instanceof View) {
+				info.setParent((View) parent);
+			}
+			copyNodeInfoNoChildren(info, superNode);
+
+			superNode.recycle();
+
+			final int childCount = getChildCount();
+			for (int i = 0; i < childCount; i++) {
+				final View child = getChildAt(i);
+				if (!filter(child)) {
+					info.addChild(child);
+				}
+			}
+		}
+
+		@Override
+		public boolean onRequestSendAccessibilityEvent(ViewGroup host, View child, AccessibilityEvent event) {
+			if (!filter(child)) {
+				return super.onRequestSendAccessibilityEvent(host, child, event);
+			}
+			return false;
+		}
+
+		public boolean filter(View child) {
+			final View openDrawer = findOpenDrawer();
+			return openDrawer != null && openDrawer != child;
+		}
+
+		/**
+		 * This should really be in AccessibilityNodeInfoCompat, but there
+		 * unfortunately seem to be a few elements that are not easily cloneable
+		 * using the underlying API. Leave it private here as it's not
+		 * general-purpose useful.
+		 */
+		private void copyNodeInfoNoChildren(AccessibilityNodeInfoCompat dest, AccessibilityNodeInfoCompat src) {
+			final Rect rect = mTmpRect;
+
+			src.getBoundsInParent(rect);
+			dest.setBoundsInParent(rect);
+
+			src.getBoundsInScreen(rect);
+			dest.setBoundsInScreen(rect);
+
+			dest.setVisibleToUser(src.isVisibleToUser());
+			dest.setPackageName(src.getPackageName());
+			dest.setClassName(src.getClassName());
+			dest.setContentDescription(src.getContentDescription());
+
+			dest.setEnabled(src.isEnabled());
+			dest.setClickable(src.isClickable());
+			dest.setFocusable(src.isFocusable());
+			dest.setFocused(src.isFocused());
+			dest.setAccessibilityFocused(src.isAccessibilityFocused());
+			dest.setSelected(src.isSelected());
+			dest.setLongClickable(src.isLongClickable());
+
+			dest.addAction(src.getActions());
+		}
+	}
+}
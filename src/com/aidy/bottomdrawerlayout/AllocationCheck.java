@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.os.Debug;
+import android.util.Log;
+
+/**
+ * Debug-only check that the per-frame drag and settle path does not allocate.
+ * While a drawer motion session is in progress each checked section, such as
+ * one drag move or one settle frame, is bracketed by {@link #begin()} and
+ * {@link #end(String)}, which reset and read the calling thread's allocation
+ * count. A section that allocated is logged and counted.
+ *
+ * <p>
+ * The check only reads the thread-local counters. Allocation counting itself
+ * is global to the VM, so it is left to whoever wants the check to report,
+ * such as a test, to turn it on with {@link Debug#startAllocCounting()}; while
+ * it is off the counters stay at 0 and nothing is reported.
+ * </p>
+ *
+ * <p>
+ * Gated on {@link #ENABLED}, a compile-time constant, like
+ * {@link DrawerTracer}; release builds strip every call site. Sections must
+ * not include app callbacks, which are free to allocate.
+ * </p>
+ */
+final class AllocationCheck {
+	/**
+	 * True if allocation checking is compiled in.
+	 */
+	static final boolean ENABLED = BuildConfig.DEBUG;
+
+	private static final String TAG = "DrawerAllocations";
+
+	private boolean mInSession;
+	private int mViolationCount;
+
+	/**
+	 * Start checking sections for a drawer motion session.
+	 */
+	void startSession() {
+		mInSession = true;
+	}
+
+	/**
+	 * Stop checking sections. A section still open is not reported.
+	 */
+	void stopSession() {
+		mInSession = false;
+	}
+
+	/**
+	 * Start a checked section.
+	 */
+	void begin() {
+		if (mInSession) {
+			Debug.resetThreadAllocCount();
+		}
+	}
+
+	/**
+	 * End a checked section and report it if it allocated.
+	 *
+	 * @param section
+	 *            Name of the section for the log, a constant string
+	 */
+	void end(String section) {
+		if (!mInSession) {
+			return;
+		}
+		final int count = Debug.getThreadAllocCount();
+		if (count > 0) {
+			mViolationCount++;
+			Log.w(TAG, section + " allocated " + count + " objects");
+		}
+	}
+
+	/**
+	 * @return The number of checked sections that allocated
+	 */
+	int getViolationCount() {
+		return mViolationCount;
+	}
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.os.SystemClock;
+
+/**
+ * DrawerMetrics measures how smoothly drawers move. A session starts when the
+ * drawer state leaves {@link ViewDragHelper#STATE_IDLE} and ends when it
+ * returns to it. For every session the frame count, dropped frames, worst and
+ * 95th percentile frame interval, the latency from the touch down to the first
+ * drawer movement and the settle duration are recorded, and aggregated over
+ * all sessions into histograms. Touch latency is only recorded for sessions
+ * started by the touch itself, with a drag or an edge peek.
+ *
+ * <p>
+ * Install an instance with the drawer layout's <code>setDrawerMetrics</code>
+ * method. All storage is preallocated; recording never allocates. Read the
+ * results directly or from a {@link Listener} at the end of each session, for
+ * example to forward them to telemetry.
+ * </p>
+ */
+public class DrawerMetrics {
+	/**
+	 * Receives a callback at the end of every session.
+	 */
+	public interface Listener {
+		/**
+		 * Called when a session has ended. The <code>getLastSession*</code>
+		 * methods describe the session that just ended.
+		 *
+		 * @param metrics
+		 *            The metrics that recorded the session
+		 */
+		public void onSessionFinished(DrawerMetrics metrics);
+	}
+
+	/**
+	 * The session started with the user dragging a drawer.
+	 */
+	public static final int SESSION_DRAG = 0;
+
+	/**
+	 * The session was a settle that left a drawer open, such as openDrawer.
+	 */
+	public static final int SESSION_OPEN = 1;
+
+	/**
+	 * The session was a settle that left all drawers closed, such as
+	 * closeDrawer.
+	 */
+	public static final int SESSION_CLOSE = 2;
+
+	private static final long DEFAULT_FRAME_INTERVAL = 16666667; // ns, 60Hz
+	private static final long NANOS_PER_MILLI = 1000000;
+
+	/**
+	 * Fixed-bucket histogram of durations.
+	 */
+	public static final class Histogram {
+		private final int[] mBuckets;
+		private final int mBucketMillis;
+		private int mCount;
+		private long mMaxNanos;
+
+		/**
+		 * @param bucketCount
+		 *            Number of buckets. The last one also holds all larger
+		 *            values.
+		 * @param bucketMillis
+		 *            Width of each bucket in milliseconds
+		 */
+		Histogram(int bucketCount, int bucketMillis) {
+			mBuckets = new int[bucketCount];
+			mBucketMillis = bucketMillis;
+		}
+
+		void add(long nanos) {
+			final int bucket = (int) Math.min(mBuckets.length - 1, Math.max(0, nanos / NANOS_PER_MILLI / mBucketMillis));
+			mBuckets[bucket]++;
+			mCount++;
+			if (nanos > mMaxNanos) {
+				mMaxNanos = nanos;
+			}
+		}
+
+		void clear() {
+			for (int i = 0; i < mBuckets.length; i++) {
+				mBuckets[i] = 0;
+			}
+			mCount = 0;
+			mMaxNanos = 0;
+		}
+
+		/**
+		 * @return The number of recorded values
+		 */
+		public int getCount() {
+			return mCount;
+		}
+
+		/**
+		 * @return The largest recorded value in nanoseconds
+		 */
+		public long getMaxNanos() {
+			return mMaxNanos;
+		}
+
+		public int getBucketCount() {
+			return mBuckets.length;
+		}
+
+		/**
+		 * @return The width of each bucket in milliseconds
+		 */
+		public int getBucketMillis() {
+			return mBucketMillis;
+		}
+
+		/**
+		 * @param bucket
+		 *            Bucket index
+		 * @return The number of values that fell into the bucket
+		 */
+		public int getBucket(int bucket) {
+			return mBuckets[bucket];
+		}
+
+		/**
+		 * @param fraction
+		 *            Percentile to compute, from 0 to 1
+		 * @return The upper bound of the bucket holding the percentile, in
+		 *         milliseconds, or 0 if nothing was recorded
+		 */
+		public int getPercentileMillis(float fraction) {
+			if (fraction < 0 || fraction > 1) {
+				throw new IllegalArgumentException("Percentile must be in [0, 1]");
+			}
+			if (mCount == 0) {
+				return 0;
+			}
+			final int rank = Math.max(1, (int) Math.ceil(fraction * mCount));
+			int seen = 0;
+			for (int i = 0; i < mBuckets.length; i++) {
+				seen += mBuckets[i];
+				if (seen >= rank) {
+					return (i + 1) * mBucketMillis;
+				}
+			}
+			return mBuckets.length * mBucketMillis;
+		}
+	}
+
+	private final long mFrameInterval;
+	private Listener mListener;
+
+	// Aggregates over all sessions
+	private final Histogram mFrameIntervals = new Histogram(100, 1);
+	private final Histogram mTouchLatencies = new Histogram(200, 1);
+	private final Histogram mSettleDurations = new Histogram(100, 10);
+	private int mSessionCount;
+	private long mTotalFrames;
+	private long mTotalDroppedFrames;
+
+	// Session in progress
+	private boolean mInSession;
+	private int mSessionType;
+	private boolean mTouchSession;
+	private boolean mPeekPending;
+	private final Histogram mSessionFrameIntervals = new Histogram(100, 1);
+	private int mFrameCount;
+	private int mDroppedFrames;
+	private long mLastFrameTime = -1;
+	private boolean mMovedSinceFrame;
+	private long mSettleStart = -1;
+	private long mDownTimeMillis = -1;
+	private long mTouchLatency = -1;
+
+	// Last finished session
+	private int mLastType = -1;
+	private int mLastFrameCount;
+	private int mLastDroppedFrames;
+	private long mLastMaxFrameInterval;
+	private int mLastP95FrameMillis;
+	private long mLastTouchLatency = -1;
+	private long mLastSettleDuration = -1;
+
+	public DrawerMetrics() {
+		this(DEFAULT_FRAME_INTERVAL);
+	}
+
+	/**
+	 * @param frameIntervalNanos
+	 *            Expected frame interval of the display, used to count dropped
+	 *            frames
+	 */
+	public DrawerMetrics(long frameIntervalNanos) {
+		if (frameIntervalNanos <= 0) {
+			throw new IllegalArgumentException("Frame interval must be positive");
+		}
+		mFrameInterval = frameIntervalNanos;
+	}
+
+	public void setListener(Listener listener) {
+		mListener = listener;
+	}
+
+	/**
+	 * Record the start of a touch gesture.
+	 *
+	 * @param eventTimeMillis
+	 *            Event time of the ACTION_DOWN, in the uptime time base
+	 */
+	void onTouchDown(long eventTimeMillis) {
+		mDownTimeMillis = eventTimeMillis;
+		mPeekPending = false;
+	}
+
+	/**
+	 * Record the end of a touch gesture. A gesture that did not start a
+	 * session, such as a tap, has no latency to report, and its down time
+	 * must not be charged to a later session.
+	 */
+	void onTouchUp() {
+		if (!mInSession || !mTouchSession) {
+			mDownTimeMillis = -1;
+		}
+		mPeekPending = false;
+	}
+
+	/**
+	 * Record that a drawer is about to peek from the edge under the touch, so
+	 * that the settle session it starts counts as started by the touch.
+	 */
+	void onPeek() {
+		mPeekPending = true;
+	}
+
+	/**
+	 * Record a drawer state transition.
+	 *
+	 * @param state
+	 *            New drawer state
+	 * @param drawerOpen
+	 *            Whether a drawer is left open when the state is idle
+	 */
+	void onStateChanged(int state, boolean drawerOpen) {
+		final long now = System.nanoTime();
+		if (state == ViewDragHelper.STATE_IDLE) {
+			if (mInSession) {
+				finishSession(now, drawerOpen);
+			}
+			return;
+		}
+		if (!mInSession) {
+			mInSession = true;
+			mSessionType = state == ViewDragHelper.STATE_DRAGGING ? SESSION_DRAG : -1;
+			mTouchSession = state == ViewDragHelper.STATE_DRAGGING || mPeekPending;
+			mPeekPending = false;
+			mSessionFrameIntervals.clear();
+			mFrameCount = 0;
+			mDroppedFrames = 0;
+			mLastFrameTime = -1;
+			mMovedSinceFrame = false;
+			mSettleStart = -1;
+			mTouchLatency = -1;
+		}
+		if (state == ViewDragHelper.STATE_SETTLING && mSettleStart < 0) {
+			mSettleStart = now;
+		}
+	}
+
+	/**
+	 * Record a drawer moving.
+	 */
+	void onDrawerMoved() {
+		mMovedSinceFrame = true;
+		if (mInSession && mTouchSession && mTouchLatency < 0 && mDownTimeMillis >= 0) {
+			mTouchLatency = (SystemClock.uptimeMillis() - mDownTimeMillis) * NANOS_PER_MILLI;
+			mDownTimeMillis = -1;
+		}
+	}
+
+	/**
+	 * Record a vsync frame of the session. Only frames in which a drawer moved
+	 * since the previous one are counted; a frame without movement, such as
+	 * while the finger rests mid-drag, ends the current run of frames so the
+	 * pause is not mistaken for dropped frames.
+	 *
+	 * @param frameTimeNanos
+	 *            Choreographer frame time in the {@link System#nanoTime()}
+	 *            time base
+	 */
+	void onFrame(long frameTimeNanos) {
+		if (!mInSession) {
+			return;
+		}
+		if (!mMovedSinceFrame) {
+			mLastFrameTime = -1;
+			return;
+		}
+		mMovedSinceFrame = false;
+		if (mLastFrameTime >= 0 && frameTimeNanos > mLastFrameTime) {
+			final long interval = frameTimeNanos - mLastFrameTime;
+			mSessionFrameIntervals.add(interval);
+			mFrameIntervals.add(interval);
+			// An interval of n frame periods means n - 1 frames were missed.
+			final long periods = (interval + mFrameInterval / 2) / mFrameInterval;
+			if (periods > 1) {
+				mDroppedFrames += periods - 1;
+			}
+		}
+		if (frameTimeNanos != mLastFrameTime) {
+			mFrameCount++;
+			mLastFrameTime = frameTimeNanos;
+		}
+	}
+
+	private void finishSession(long now, boolean drawerOpen) {
+		mInSession = false;
+		mLastType = mSessionType >= 0 ? mSessionType : drawerOpen ? SESSION_OPEN : SESSION_CLOSE;
+		mLastFrameCount = mFrameCount;
+		mLastDroppedFrames = mDroppedFrames;
+		mLastMaxFrameInterval = mSessionFrameIntervals.getMaxNanos();
+		mLastP95FrameMillis = mSessionFrameIntervals.getPercentileMillis(0.95f);
+		mLastTouchLatency = mTouchLatency;
+		mLastSettleDuration = mSettleStart >= 0 ? now - mSettleStart : -1;
+
+		mSessionCount++;
+		mTotalFrames += mFrameCount;
+		mTotalDroppedFrames += mDroppedFrames;
+		if (mTouchLatency >= 0) {
+			mTouchLatencies.add(mTouchLatency);
+		}
+		if (mLastSettleDuration >= 0) {
+			mSettleDurations.add(mLastSettleDuration);
+		}
+		mDownTimeMillis = -1;
+
+		if (mListener != null) {
+			mListener.onSessionFinished(this);
+		}
+	}
+
+	/**
+	 * Discard all recorded sessions. A session in progress is abandoned.
+	 */
+	public void reset() {
+		mInSession = false;
+		mFrameIntervals.clear();
+		mTouchLatencies.clear();
+		mSettleDurations.clear();
+		mSessionCount = 0;
+		mTotalFrames = 0;
+		mTotalDroppedFrames = 0;
+		mLastType = -1;
+		mDownTimeMillis = -1;
+	}
+
+	/**
+	 * @return The number of finished sessions
+	 */
+	public int getSessionCount() {
+		return mSessionCount;
+	}
+
+	public long getTotalFrames() {
+		return mTotalFrames;
+	}
+
+	public long getTotalDroppedFrames() {
+		return mTotalDroppedFrames;
+	}
+
+	/**
+	 * @return Frame intervals over all sessions, in 1ms buckets
+	 */
+	public Histogram getFrameIntervals() {
+		return mFrameIntervals;
+	}
+
+	/**
+	 * @return Touch down to first drawer movement latencies, in 1ms buckets
+	 */
+	public Histogram getTouchLatencies() {
+		return mTouchLatencies;
+	}
+
+	/**
+	 * @return Settle durations, in 10ms buckets
+	 */
+	public Histogram getSettleDurations() {
+		return mSettleDurations;
+	}
+
+	/**
+	 * @return {@link #SESSION_DRAG}, {@link #SESSION_OPEN} or
+	 *         {@link #SESSION_CLOSE}, or -1 if no session has finished
+	 */
+	public int getLastSessionType() {
+		return mLastType;
+	}
+
+	public int getLastSessionFrameCount() {
+		return mLastFrameCount;
+	}
+
+	public int getLastSessionDroppedFrames() {
+		return mLastDroppedFrames;
+	}
+
+	/**
+	 * @return The longest frame interval of the last session in nanoseconds
+	 */
+	public long getLastSessionMaxFrameInterval() {
+		return mLastMaxFrameInterval;
+	}
+
+	/**
+	 * @return The 95th percentile frame interval of the last session, rounded
+	 *         up to whole milliseconds
+	 */
+	public int getLastSessionP95FrameMillis() {
+		return mLastP95FrameMillis;
+	}
+
+	/**
+	 * @return The latency from touch down to the first drawer movement of the
+	 *         last session in nanoseconds, with millisecond precision, or -1
+	 *         if it was not started by a drag or a peek
+	 */
+	public long getLastSessionTouchLatency() {
+		return mLastTouchLatency;
+	}
+
+	/**
+	 * @return How long the last session settled in nanoseconds, or -1 if it
+	 *         did not settle
+	 */
+	public long getLastSessionSettleDuration() {
+		return mLastSettleDuration;
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.view.animation.AnimationUtils;
+
+/**
+ * DrawerSettleEngine drives a view from its release position to a settled
+ * position, taking the release velocity into account. It is the physics-based
+ * alternative to the fixed-curve scroller {@link ViewDragHelper} uses by
+ * default; return an engine from
+ * {@link ViewDragHelper.Callback#getSettleEngine(android.view.View)} to use it.
+ *
+ * <p>
+ * Subclasses describe the motion of a single axis through
+ * {@link #offsetAt(float, float, float)}. This class runs both axes, clamps
+ * each one to the segment between its start and final position so that a
+ * settle never overshoots, and snaps to the final position once the remaining
+ * distance drops below half a pixel.
+ * </p>
+ *
+ * <p>
+ * {@link Spring} and {@link Decay} are provided. An engine is driven by one
+ * ViewDragHelper at a time and may be shared by several drawers of the same
+ * layout.
+ * </p>
+ */
+public abstract class DrawerSettleEngine {
+	// Remaining distance in pixels below which an axis is considered settled
+	private static final float SETTLE_EPSILON = 0.5f;
+
+	// Upper bound on any settle, in case an implementation never converges
+	private static final float MAX_SETTLE_TIME = 2.f; // s
+
+	private int mStartX;
+	private int mStartY;
+	private int mFinalX;
+	private int mFinalY;
+	private float mVelocityX;
+	private float mVelocityY;
+	private int mCurrX;
+	private int mCurrY;
+	private long mStartTime;
+	private boolean mFinished = true;
+
+	/**
+	 * Start settling from one position to another.
+	 *
+	 * @param startX
+	 *            Starting X position
+	 * @param startY
+	 *            Starting Y position
+	 * @param finalX
+	 *            Final X position
+	 * @param finalY
+	 *            Final Y position
+	 * @param velocityX
+	 *            Initial X velocity in pixels per second
+	 * @param velocityY
+	 *            Initial Y velocity in pixels per second
+	 */
+	public void start(int startX, int startY, int finalX, int finalY, float velocityX, float velocityY) {
+		mStartX = mCurrX = startX;
+		mStartY = mCurrY = startY;
+		mFinalX = finalX;
+		mFinalY = finalY;
+		mVelocityX = velocityX;
+		mVelocityY = velocityY;
+		mStartTime = AnimationUtils.currentAnimationTimeMillis();
+		mFinished = startX == finalX && startY == finalY;
+	}
+
+	/**
+	 * Update the current position for the current animation time. Like
+	 * {@link android.widget.Scroller#computeScrollOffset()} this returns true
+	 * on the frame that reaches the final position and false afterwards.
+	 *
+	 * @return true if the settle had not finished before this call
+	 */
+	public boolean computeOffset() {
+		if (mFinished) {
+			return false;
+		}
+		final float t = (AnimationUtils.currentAnimationTimeMillis() - mStartTime) / 1000.f;
+		final float distanceX = mFinalX - mStartX;
+		final float distanceY = mFinalY - mStartY;
+		float offsetX = t < MAX_SETTLE_TIME ? clampOffset(offsetAt(distanceX, mVelocityX, t), distanceX) : distanceX;
+		float offsetY = t < MAX_SETTLE_TIME ? clampOffset(offsetAt(distanceY, mVelocityY, t), distanceY) : distanceY;
+		if (Math.abs(distanceX - offsetX) < SETTLE_EPSILON) {
+			offsetX = distanceX;
+		}
+		if (Math.abs(distanceY - offsetY) < SETTLE_EPSILON) {
+			offsetY = distanceY;
+		}
+		mCurrX = mStartX + Math.round(offsetX);
+		mCurrY = mStartY + Math.round(offsetY);
+		mFinished = mCurrX == mFinalX && mCurrY == mFinalY;
+		return true;
+	}
+
+	/**
+	 * Stop the settle and move to the final position.
+	 */
+	public void abortAnimation() {
+		mCurrX = mFinalX;
+		mCurrY = mFinalY;
+		mFinished = true;
+	}
+
+	public boolean isFinished() {
+		return mFinished;
+	}
+
+	public int getCurrX() {
+		return mCurrX;
+	}
+
+	public int getCurrY() {
+		return mCurrY;
+	}
+
+	public int getFinalX() {
+		return mFinalX;
+	}
+
+	public int getFinalY() {
+		return mFinalY;
+	}
+
+	/**
+	 * Compute how far along one axis the view has travelled at a given time.
+	 * The result does not need to be clamped.
+	 *
+	 * @param distance
+	 *            Signed distance from the start to the final position
+	 * @param velocity
+	 *            Signed initial velocity in pixels per second. It may point
+	 *            away from the final position.
+	 * @param t
+	 *            Time since the start of the settle in seconds
+	 * @return Signed distance travelled from the start position
+	 */
+	protected abstract float offsetAt(float distance, float velocity, float t);
+
+	static float clampOffset(float offset, float distance) {
+		return distance >= 0 ? Math.max(0, Math.min(offset, distance)) : Math.max(distance, Math.min(offset, 0));
+	}
+
+	/**
+	 * A critically damped spring attached to the final position. A release
+	 * velocity towards the final position shortens the settle; a hard enough
+	 * fling reaches the final position early and stops there instead of
+	 * bouncing back.
+	 */
+	public static class Spring extends DrawerSettleEngine {
+		private static final float DEFAULT_STIFFNESS = 400.f;
+
+		private final float mOmega;
+
+		public Spring() {
+			this(DEFAULT_STIFFNESS);
+		}
+
+		/**
+		 * @param stiffness
+		 *            Spring stiffness for a unit mass. Higher values settle
+		 *            faster.
+		 */
+		public Spring(float stiffness) {
+			if (stiffness <= 0) {
+				throw new IllegalArgumentException("Stiffness must be positive");
+			}
+			mOmega = (float) Math.sqrt(stiffness);
+		}
+
+		@Override
+		protected float offsetAt(float distance, float velocity, float t) {
+			// Displacement from the final position of a critically damped
+			// spring: x(t) = (x0 + (v0 + w * x0) * t) * e^(-w * t)
+			final float x0 = -distance;
+			final float displacement = (x0 + (velocity + mOmega * x0) * t) * (float) Math.exp(-mOmega * t);
+			return distance + displacement;
+		}
+	}
+
+	/**
+	 * Exponential fling decay that comes to rest exactly at the final
+	 * position and starts at the release velocity. The decay rate grows with
+	 * the release velocity so that a harder fling settles sooner; a release
+	 * that is slow or points away from the final position uses the minimum
+	 * rate.
+	 *
+	 * <p>
+	 * The rate is the release speed divided by the remaining distance, kept
+	 * between the minimum rate and {@link #MAX_FRICTION}. When the rate is
+	 * not clamped the settle is a pure decay whose initial speed is the
+	 * release speed. Otherwise a correction term that fades out at the same
+	 * rate makes up the difference, so the drawer still leaves at the release
+	 * velocity: it eases in from rest when there is no fling, and reaches the
+	 * final position early and stops there when the fling is too fast for
+	 * {@link #MAX_FRICTION}. With the default minimum of 10/s, for a 600px
+	 * drawer the settle gets within half a pixel after:
+	 * </p>
+	 * <ul>
+	 * <li>no fling: 0.94s, 95% after 0.48s</li>
+	 * <li>3000px/s: 0.88s, 95% after 0.41s</li>
+	 * <li>6000px/s: 0.71s, 95% after 0.30s</li>
+	 * <li>9000px/s: 0.47s, 95% after 0.20s</li>
+	 * <li>12000px/s: 0.36s, 95% after 0.15s</li>
+	 * <li>24000px/s and faster: 0.18s, 95% after 0.08s</li>
+	 * </ul>
+	 */
+	public static class Decay extends DrawerSettleEngine {
+		private static final float DEFAULT_MIN_FRICTION = 10.f;
+
+		/**
+		 * Largest decay rate, per second. Keeps the hardest flings from
+		 * finishing within a frame or two.
+		 */
+		public static final float MAX_FRICTION = 40.f;
+
+		private final float mMinFriction;
+
+		public Decay() {
+			this(DEFAULT_MIN_FRICTION);
+		}
+
+		/**
+		 * @param minFriction
+		 *            Smallest decay rate to use, per second. At most
+		 *            {@link #MAX_FRICTION}.
+		 */
+		public Decay(float minFriction) {
+			if (minFriction <= 0 || minFriction > MAX_FRICTION) {
+				throw new IllegalArgumentException("Friction must be positive and at most " + MAX_FRICTION);
+			}
+			mMinFriction = minFriction;
+		}
+
+		@Override
+		protected float offsetAt(float distance, float velocity, float t) {
+			if (distance == 0) {
+				return 0;
+			}
+			final float speed = velocity * distance > 0 ? Math.abs(velocity) : 0;
+			final float friction = Math.max(mMinFriction, Math.min(speed / Math.abs(distance), MAX_FRICTION));
+			// x(t) = distance * (1 - e^(-k * t)) leaves at k * distance; the
+			// second term is zero at t = 0 and corrects the initial velocity
+			// to the release velocity when k had to be clamped.
+			final float decay = (float) Math.exp(-friction * t);
+			return distance * (1 - decay) + (velocity - friction * distance) * t * decay;
+		}
+	}
+}
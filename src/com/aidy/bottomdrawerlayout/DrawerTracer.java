@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.util.Log;
+
+/**
+ * DrawerTracer records structured drawer events into a fixed-size ring buffer
+ * so that a gesture can be inspected after the fact without logging from the
+ * touch and draw paths.
+ *
+ * <p>
+ * Tracing is gated on {@link #ENABLED}, a compile-time constant. Call sites
+ * are written as <code>if (DrawerTracer.ENABLED) mTracer.trace(...)</code> so
+ * that the compiler strips them entirely from release builds. In debug builds
+ * {@link #trace(int, int, int, int)} only writes primitives into preallocated
+ * arrays; it never allocates and never performs I/O. Call {@link #dump(String)}
+ * to write the captured events to logcat.
+ * </p>
+ *
+ * <p>
+ * Subclasses may override {@link #trace(int, int, int, int)} to forward events
+ * elsewhere, then install the tracer with the drawer layout's
+ * <code>setDrawerTracer</code> method.
+ * </p>
+ */
+public class DrawerTracer {
+	/**
+	 * True if drawer tracing is compiled in.
+	 */
+	public static final boolean ENABLED = BuildConfig.DEBUG;
+
+	/**
+	 * onMeasure pass. Args: measured width, measured height.
+	 */
+	public static final int EVENT_MEASURE = 1;
+
+	/**
+	 * onLayout pass. Args: width, height, 1 if changed.
+	 */
+	public static final int EVENT_LAYOUT = 2;
+
+	// 3 is no longer recorded; settle frames are EVENT_SETTLE_FRAME.
+
+	/**
+	 * drawChild call. Args: absolute gravity of the child, 1 if the child is
+	 * the content view.
+	 */
+	public static final int EVENT_DRAW_CHILD = 4;
+
+	/**
+	 * onInterceptTouchEvent. Args: masked action, 1 if intercepted.
+	 */
+	public static final int EVENT_INTERCEPT_TOUCH = 5;
+
+	/**
+	 * onTouchEvent. Args: masked action, 1 if consumed.
+	 */
+	public static final int EVENT_TOUCH = 6;
+
+	/**
+	 * Drawer position change. Args: absolute gravity, left, top.
+	 */
+	public static final int EVENT_POSITION_CHANGED = 7;
+
+	/**
+	 * Drawer slide offset change. Args: absolute gravity, offset in 1/1000ths.
+	 */
+	public static final int EVENT_DRAWER_OFFSET = 8;
+
+	/**
+	 * ViewDragHelper state change. Args: absolute gravity, new drag state.
+	 */
+	public static final int EVENT_DRAG_STATE = 9;
+
+	/**
+	 * Shared drawer state change. Args: new drawer state.
+	 */
+	public static final int EVENT_DRAWER_STATE = 10;
+
+	/**
+	 * Edge touched. Args: edge flags, pointer id.
+	 */
+	public static final int EVENT_EDGE_TOUCHED = 11;
+
+	/**
+	 * Edge drag started. Args: edge flags, pointer id.
+	 */
+	public static final int EVENT_EDGE_DRAG_STARTED = 12;
+
+	/**
+	 * Drawer peeked. Args: absolute gravity.
+	 */
+	public static final int EVENT_PEEK = 13;
+
+	/**
+	 * Drawer captured. Args: absolute gravity, pointer id.
+	 */
+	public static final int EVENT_VIEW_CAPTURED = 14;
+
+	/**
+	 * Drawer released. Args: absolute gravity, x velocity, y velocity.
+	 */
+	public static final int EVENT_VIEW_RELEASED = 15;
+
+	/**
+	 * Drawer open requested. Args: absolute gravity.
+	 */
+	public static final int EVENT_OPEN_DRAWER = 16;
+
+	/**
+	 * Drawer close requested. Args: absolute gravity.
+	 */
+	public static final int EVENT_CLOSE_DRAWER = 17;
+
+	/**
+	 * Settle tick from the frame callback. Args: 1 if a settle is still in
+	 * progress.
+	 */
+	public static final int EVENT_SETTLE_FRAME = 18;
+
+	/**
+	 * Scrollable drawer content handed the rest of a gesture to the drawer.
+	 * Args: scroll direction the content could no longer follow.
+	 */
+	public static final int EVENT_NESTED_HANDOFF = 19;
+
+	/**
+	 * A drawer declared as a ViewStub was inflated. Args: absolute gravity.
+	 */
+	public static final int EVENT_DRAWER_INFLATED = 20;
+
+	/**
+	 * A touch on several edges at once was given to one of them. Args: winning
+	 * edge flag, pointer id.
+	 */
+	public static final int EVENT_EDGE_ARBITRATED = 21;
+
+	private static final int DEFAULT_CAPACITY = 512;
+
+	private final long[] mTimes;
+	private final int[] mEvents;
+	private final int[] mArg0;
+	private final int[] mArg1;
+	private final int[] mArg2;
+
+	// Index of the next slot to write and number of valid slots
+	private int mHead;
+	private int mCount;
+
+	public DrawerTracer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity
+	 *            Number of events retained before the oldest are overwritten
+	 */
+	public DrawerTracer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		mTimes = new long[capacity];
+		mEvents = new int[capacity];
+		mArg0 = new int[capacity];
+		mArg1 = new int[capacity];
+		mArg2 = new int[capacity];
+	}
+
+	/**
+	 * Record an event. This method does not allocate.
+	 *
+	 * @param event
+	 *            One of the <code>EVENT_*</code> constants
+	 * @param arg0
+	 *            First event argument
+	 * @param arg1
+	 *            Second event argument
+	 * @param arg2
+	 *            Third event argument
+	 */
+	public void trace(int event, int arg0, int arg1, int arg2) {
+		final int i = mHead;
+		mTimes[i] = System.nanoTime();
+		mEvents[i] = event;
+		mArg0[i] = arg0;
+		mArg1[i] = arg1;
+		mArg2[i] = arg2;
+		mHead = i + 1 == mEvents.length ? 0 : i + 1;
+		if (mCount < mEvents.length) {
+			mCount++;
+		}
+	}
+
+	/**
+	 * @return The number of events currently retained
+	 */
+	public int getEventCount() {
+		return mCount;
+	}
+
+	/**
+	 * @param index
+	 *            Index of the event, 0 being the oldest retained event
+	 * @return The <code>EVENT_*</code> type of the event
+	 */
+	public int getEvent(int index) {
+		return mEvents[slot(index)];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the event, 0 being the oldest retained event
+	 * @return The {@link System#nanoTime()} at which the event was recorded
+	 */
+	public long getEventTime(int index) {
+		return mTimes[slot(index)];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the event, 0 being the oldest retained event
+	 * @param arg
+	 *            Argument to return, 0-2
+	 * @return The requested event argument
+	 */
+	public int getEventArg(int index, int arg) {
+		final int slot = slot(index);
+		switch (arg) {
+		case 0:
+			return mArg0[slot];
+		case 1:
+			return mArg1[slot];
+		case 2:
+			return mArg2[slot];
+		default:
+			throw new IllegalArgumentException("Event arg " + arg + " out of range");
+		}
+	}
+
+	/**
+	 * Discard all retained events.
+	 */
+	public void clear() {
+		mHead = 0;
+		mCount = 0;
+	}
+
+	/**
+	 * Write all retained events to logcat, oldest first. This is intended for
+	 * debugging and allocates freely.
+	 *
+	 * @param tag
+	 *            Log tag to use
+	 */
+	public void dump(String tag) {
+		final int count = mCount;
+		final long base = count > 0 ? getEventTime(0) : 0;
+		for (int i = 0; i < count; i++) {
+			final int slot = slot(i);
+			Log.d(tag, "+" + (mTimes[slot] - base) / 1000 + "us " + eventToString(mEvents[slot]) + " " + mArg0[slot] + " "
+					+ mArg1[slot] + " " + mArg2[slot]);
+		}
+	}
+
+	private int slot(int index) {
+		if (index < 0 || index >= mCount) {
+			throw new IndexOutOfBoundsException("Event " + index + " out of range; " + mCount + " retained");
+		}
+		final int oldest = mCount < mEvents.length ? 0 : mHead;
+		return (oldest + index) % mEvents.length;
+	}
+
+	static String eventToString(int event) {
+		switch (event) {
+		case EVENT_MEASURE:
+			return "MEASURE";
+		case EVENT_LAYOUT:
+			return "LAYOUT";
+		case EVENT_DRAW_CHILD:
+			return "DRAW_CHILD";
+		case EVENT_INTERCEPT_TOUCH:
+			return "INTERCEPT_TOUCH";
+		case EVENT_TOUCH:
+			return "TOUCH";
+		case EVENT_POSITION_CHANGED:
+			return "POSITION_CHANGED";
+		case EVENT_DRAWER_OFFSET:
+			return "DRAWER_OFFSET";
+		case EVENT_DRAG_STATE:
+			return "DRAG_STATE";
+		case EVENT_DRAWER_STATE:
+			return "DRAWER_STATE";
+		case EVENT_EDGE_TOUCHED:
+			return "EDGE_TOUCHED";
+		case EVENT_EDGE_DRAG_STARTED:
+			return "EDGE_DRAG_STARTED";
+		case EVENT_PEEK:
+			return "PEEK";
+		case EVENT_VIEW_CAPTURED:
+			return "VIEW_CAPTURED";
+		case EVENT_VIEW_RELEASED:
+			return "VIEW_RELEASED";
+		case EVENT_OPEN_DRAWER:
+			return "OPEN_DRAWER";
+		case EVENT_CLOSE_DRAWER:
+			return "CLOSE_DRAWER";
+		case EVENT_SETTLE_FRAME:
+			return "SETTLE_FRAME";
+		case EVENT_NESTED_HANDOFF:
+			return "NESTED_HANDOFF";
+		case EVENT_DRAWER_INFLATED:
+			return "DRAWER_INFLATED";
+		case EVENT_EDGE_ARBITRATED:
+			return "EDGE_ARBITRATED";
+		default:
+			return Integer.toString(event);
+		}
+	}
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.os.SystemClock;
+
+/**
+ * DrawerTuner adapts a drawer layout's peek delay, fling threshold and edge
+ * size to the way its user handles edge gestures. It keeps running averages
+ * of the time from touch down to crossing the touch slop, of opening release
+ * velocities and of how often an edge gesture ends with every drawer closed,
+ * which counts as a false trigger.
+ *
+ * <p>
+ * Users who cross the slop quickly get a shorter peek delay, users who fling
+ * hard need a faster release before it counts as a fling, and frequent false
+ * triggers lengthen the peek delay and narrow the edge. Every value stays
+ * within fixed bounds around the layouts' defaults, and the defaults are used
+ * until enough gestures have been seen.
+ * </p>
+ *
+ * <p>
+ * Install an instance with the drawer layout's <code>setDrawerTuner</code>
+ * method. Tuned values take effect at the start of the next gesture. One
+ * tuner may be shared by several layouts so they all learn from the same
+ * user.
+ * </p>
+ */
+public class DrawerTuner {
+	/**
+	 * Untuned delay before an edge touch peeks a drawer, in milliseconds.
+	 */
+	public static final int DEFAULT_PEEK_DELAY = 160;
+	public static final int MIN_PEEK_DELAY = 80;
+	public static final int MAX_PEEK_DELAY = 320;
+
+	/**
+	 * Untuned minimum fling velocity, in dips per second.
+	 */
+	public static final float DEFAULT_FLING_VELOCITY = 400;
+	public static final float MIN_FLING_VELOCITY = 250;
+	public static final float MAX_FLING_VELOCITY = 800;
+
+	/**
+	 * Untuned edge size, in dips. Matches {@link ViewDragHelper}'s default.
+	 */
+	public static final int DEFAULT_EDGE_SIZE = 20;
+	public static final int MIN_EDGE_SIZE = 12;
+
+	// Weight of each new sample in the running averages
+	private static final float SMOOTHING = 0.2f;
+
+	// Samples needed before an average is trusted
+	private static final int MIN_SAMPLES = 5;
+
+	// A user who has not crossed the slop within this multiple of their usual
+	// time is hesitating, and is shown the peek.
+	private static final float PEEK_DELAY_FACTOR = 2.f;
+
+	// Fraction of the usual release velocity below which a release is not a
+	// fling
+	private static final float FLING_FRACTION = 0.2f;
+
+	// False trigger rate at which the edge reaches MIN_EDGE_SIZE
+	private static final float MAX_FALSE_TRIGGER_RATE = 0.5f;
+
+	private float mSlopTime;
+	private int mSlopSamples;
+	private float mReleaseVelocity;
+	private int mReleaseSamples;
+	private float mFalseTriggerRate;
+	private int mEdgeGestures;
+
+	private int mPeekDelay = DEFAULT_PEEK_DELAY;
+	private float mFlingVelocity = DEFAULT_FLING_VELOCITY;
+	private int mEdgeSize = DEFAULT_EDGE_SIZE;
+
+	// Gesture in progress
+	private long mDownTime = -1;
+	private boolean mEdgeTouched;
+	private boolean mDrawerMoved;
+	private boolean mTouchUp;
+
+	/**
+	 * Record the start of a touch gesture. An earlier gesture whose outcome
+	 * is still unknown is dropped.
+	 *
+	 * @param eventTimeMillis
+	 *            Event time of the ACTION_DOWN, in the uptime time base
+	 */
+	void onTouchDown(long eventTimeMillis) {
+		mDownTime = eventTimeMillis;
+		mEdgeTouched = false;
+		mDrawerMoved = false;
+		mTouchUp = false;
+	}
+
+	/**
+	 * Record the end of a touch gesture. Call before the ACTION_UP or
+	 * ACTION_CANCEL is processed so that a settle it starts is attributed to
+	 * the gesture.
+	 */
+	void onTouchUp() {
+		mTouchUp = true;
+	}
+
+	/**
+	 * Record the gesture's down landing on a tracked edge.
+	 */
+	void onEdgeTouched() {
+		mEdgeTouched = true;
+	}
+
+	/**
+	 * Record the gesture crossing the touch slop from an edge.
+	 */
+	void onEdgeDragStarted() {
+		if (!mEdgeTouched || mDownTime < 0) {
+			return;
+		}
+		final long slopTime = SystemClock.uptimeMillis() - mDownTime;
+		mDownTime = -1;
+		mSlopTime = average(mSlopTime, slopTime, mSlopSamples++);
+		mDrawerMoved = true;
+		update();
+	}
+
+	/**
+	 * Record a drawer peeking after an edge touch.
+	 */
+	void onPeek() {
+		if (mEdgeTouched) {
+			mDrawerMoved = true;
+		}
+	}
+
+	/**
+	 * Record a dragged drawer being released.
+	 *
+	 * @param openVelocity
+	 *            Release velocity along the drawer's axis in the direction
+	 *            that opens it, in dips per second. Zero if it was below the
+	 *            current fling threshold.
+	 */
+	void onViewReleased(float openVelocity) {
+		if (openVelocity <= 0) {
+			// Not an opening fling. The threshold decides whether a short
+			// edge drag opens a drawer, so closing flings do not count.
+			return;
+		}
+		mReleaseVelocity = average(mReleaseVelocity, openVelocity, mReleaseSamples++);
+		update();
+	}
+
+	/**
+	 * Record a drawer state transition. The outcome of an edge gesture is
+	 * known once the drawers are idle after the touch has ended.
+	 *
+	 * @param state
+	 *            New drawer state
+	 * @param drawerOpen
+	 *            Whether a drawer is left open when the state is idle
+	 */
+	void onStateChanged(int state, boolean drawerOpen) {
+		if (state != ViewDragHelper.STATE_IDLE || !mTouchUp || !mEdgeTouched || !mDrawerMoved) {
+			return;
+		}
+		mEdgeTouched = false;
+		mFalseTriggerRate = average(mFalseTriggerRate, drawerOpen ? 0 : 1, mEdgeGestures++);
+		update();
+	}
+
+	private static float average(float average, float sample, int samples) {
+		// Plain mean until the window fills so early samples are not
+		// outweighed by the starting value.
+		final float weight = Math.max(SMOOTHING, 1.f / (samples + 1));
+		return average + (sample - average) * weight;
+	}
+
+	private void update() {
+		final boolean falseTriggersKnown = mEdgeGestures >= MIN_SAMPLES;
+		final float falseTriggerRate = falseTriggersKnown ? mFalseTriggerRate : 0;
+
+		if (mSlopSamples >= MIN_SAMPLES || falseTriggersKnown) {
+			final float hesitation = mSlopSamples >= MIN_SAMPLES ? mSlopTime * PEEK_DELAY_FACTOR : DEFAULT_PEEK_DELAY;
+			mPeekDelay = (int) clamp(hesitation * (1 + falseTriggerRate), MIN_PEEK_DELAY, MAX_PEEK_DELAY);
+		}
+		if (mReleaseSamples >= MIN_SAMPLES) {
+			mFlingVelocity = clamp(mReleaseVelocity * FLING_FRACTION, MIN_FLING_VELOCITY, MAX_FLING_VELOCITY);
+		}
+		if (falseTriggersKnown) {
+			final float narrowing = Math.min(1, falseTriggerRate / MAX_FALSE_TRIGGER_RATE);
+			mEdgeSize = Math.round(DEFAULT_EDGE_SIZE - (DEFAULT_EDGE_SIZE - MIN_EDGE_SIZE) * narrowing);
+		}
+	}
+
+	private static float clamp(float value, float min, float max) {
+		return Math.max(min, Math.min(max, value));
+	}
+
+	/**
+	 * @return Delay before an edge touch peeks a drawer, in milliseconds
+	 */
+	public int getPeekDelay() {
+		return mPeekDelay;
+	}
+
+	/**
+	 * @return Minimum release velocity that counts as a fling, in dips per
+	 *         second
+	 */
+	public float getMinFlingVelocity() {
+		return mFlingVelocity;
+	}
+
+	/**
+	 * @return Size of the touchable edges, in dips
+	 */
+	public int getEdgeSize() {
+		return mEdgeSize;
+	}
+
+	/**
+	 * @return Running average time from touch down to crossing the slop on
+	 *         an edge drag, in milliseconds
+	 */
+	public float getAverageSlopTime() {
+		return mSlopTime;
+	}
+
+	/**
+	 * @return Running average opening fling velocity, in dips per second
+	 */
+	public float getAverageReleaseVelocity() {
+		return mReleaseVelocity;
+	}
+
+	/**
+	 * @return Running average fraction of edge gestures that left every
+	 *         drawer closed
+	 */
+	public float getFalseTriggerRate() {
+		return mFalseTriggerRate;
+	}
+
+	/**
+	 * @return The number of edge gestures whose outcome was recorded
+	 */
+	public int getEdgeGestureCount() {
+		return mEdgeGestures;
+	}
+
+	/**
+	 * Forget everything learned and return to the default values.
+	 */
+	public void reset() {
+		mSlopTime = 0;
+		mSlopSamples = 0;
+		mReleaseVelocity = 0;
+		mReleaseSamples = 0;
+		mFalseTriggerRate = 0;
+		mEdgeGestures = 0;
+		mPeekDelay = DEFAULT_PEEK_DELAY;
+		mFlingVelocity = DEFAULT_FLING_VELOCITY;
+		mEdgeSize = DEFAULT_EDGE_SIZE;
+		mDownTime = -1;
+		mEdgeTouched = false;
+		mDrawerMoved = false;
+		mTouchUp = false;
+	}
+}
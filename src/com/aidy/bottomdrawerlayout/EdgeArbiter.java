@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+/**
+ * Picks one edge for a touch that lands on several at once, such as a corner
+ * where both the left and the top drawer could be pulled. Every candidate edge
+ * is scored on how far and how fast the pointer moves in the direction that
+ * would open its drawer over the first few move samples, and the arbiter
+ * commits to the best one as soon as it leads clearly or after
+ * {@link #MAX_SAMPLES} samples.
+ *
+ * <p>
+ * Until a winner is chosen the layout neither peeks nor captures any of the
+ * candidate drawers, so a corner touch never starts an animation on a drawer
+ * that is then closed again in favour of another. A pointer that holds still,
+ * or drifts in a direction that opens none of the candidates, never gives an
+ * edge a positive score and so never wins on its own; when the peek delay runs
+ * out, or the touch slop is crossed, the layout settles it with
+ * {@link #decide()}. The arbiter is purely a function of the samples it is
+ * given and does not allocate.
+ * </p>
+ */
+final class EdgeArbiter {
+	// Move samples after which the best scoring edge wins even without a
+	// clear lead
+	static final int MAX_SAMPLES = 3;
+
+	// How far ahead the latest velocity is projected when scoring, in ms
+	private static final float VELOCITY_LOOKAHEAD = 50;
+
+	private static final int[] EDGES = {
+			ViewDragHelper.EDGE_LEFT, ViewDragHelper.EDGE_RIGHT, ViewDragHelper.EDGE_TOP, ViewDragHelper.EDGE_BOTTOM
+	};
+
+	// Lead in pixels by which the best edge must beat the others to win
+	// before MAX_SAMPLES
+	private final float mDecisiveLead;
+
+	private int mPointerId = -1;
+	private int mCandidates;
+	private int mWinner;
+	private int mSamples;
+
+	private float mDownX;
+	private float mDownY;
+	private long mDownTime;
+	private float mLastX;
+	private float mLastY;
+	private long mLastTime;
+	private float mVelocityX;
+	private float mVelocityY;
+
+	/**
+	 * @param decisiveLead
+	 *            Score lead, in pixels, that lets an edge win before
+	 *            {@link #MAX_SAMPLES} samples have been seen
+	 */
+	EdgeArbiter(float decisiveLead) {
+		mDecisiveLead = decisiveLead;
+	}
+
+	/**
+	 * Start tracking a new gesture. Any arbitration in progress is dropped.
+	 *
+	 * @param pointerId
+	 *            Id of the pointer that went down
+	 * @param x
+	 *            X position of the down
+	 * @param y
+	 *            Y position of the down
+	 * @param time
+	 *            Event time of the down in milliseconds
+	 */
+	void onDown(int pointerId, float x, float y, long time) {
+		mPointerId = pointerId;
+		mCandidates = 0;
+		mWinner = 0;
+		mSamples = 0;
+		mDownX = mLastX = x;
+		mDownY = mLastY = y;
+		mDownTime = mLastTime = time;
+		mVelocityX = 0;
+		mVelocityY = 0;
+	}
+
+	/**
+	 * Set the edges the down landed on. A single edge needs no arbitration.
+	 *
+	 * @param pointerId
+	 *            Pointer that touched the edges
+	 * @param edges
+	 *            Combination of <code>ViewDragHelper.EDGE_*</code> flags
+	 * @return true if several edges compete and arbitration has started
+	 */
+	boolean start(int pointerId, int edges) {
+		if (pointerId != mPointerId) {
+			// A later pointer; leave the first pointer's arbitration alone.
+			return false;
+		}
+		if (Integer.bitCount(edges) < 2) {
+			mCandidates = 0;
+			mWinner = 0;
+			return false;
+		}
+		mCandidates = edges;
+		mWinner = 0;
+		return true;
+	}
+
+	/**
+	 * @param pointerId
+	 *            Pointer to check
+	 * @return true if competing edges of the pointer have not been decided
+	 *         yet
+	 */
+	boolean isArbitrating(int pointerId) {
+		return mCandidates != 0 && mWinner == 0 && pointerId == mPointerId;
+	}
+
+	/**
+	 * @return true if competing edges were decided for the current gesture
+	 */
+	boolean hasWinner() {
+		return mWinner != 0;
+	}
+
+	/**
+	 * @return Id of the pointer being arbitrated
+	 */
+	int getPointerId() {
+		return mPointerId;
+	}
+
+	/**
+	 * @return Event time of the down in milliseconds
+	 */
+	long getDownTime() {
+		return mDownTime;
+	}
+
+	/**
+	 * Record a move sample of the arbitrated pointer.
+	 *
+	 * @param x
+	 *            X position of the pointer
+	 * @param y
+	 *            Y position of the pointer
+	 * @param time
+	 *            Event time of the sample in milliseconds
+	 * @return The winning edge flag if this sample decided it, 0 otherwise
+	 */
+	int addSample(float x, float y, long time) {
+		if (mCandidates == 0 || mWinner != 0) {
+			return 0;
+		}
+		final long dt = time - mLastTime;
+		if (dt > 0) {
+			mVelocityX = (x - mLastX) / dt;
+			mVelocityY = (y - mLastY) / dt;
+		}
+		mLastX = x;
+		mLastY = y;
+		mLastTime = time;
+		mSamples++;
+
+		float best = -Float.MAX_VALUE;
+		float second = -Float.MAX_VALUE;
+		int bestEdge = 0;
+		for (int edge : EDGES) {
+			if ((mCandidates & edge) == 0) {
+				continue;
+			}
+			final float score = score(edge);
+			if (score > best) {
+				second = best;
+				best = score;
+				bestEdge = edge;
+			} else if (score > second) {
+				second = score;
+			}
+		}
+		if (best > 0 && (best - second >= mDecisiveLead || mSamples >= MAX_SAMPLES)) {
+			mWinner = bestEdge;
+			return mWinner;
+		}
+		return 0;
+	}
+
+	/**
+	 * Decide now with the samples seen so far, for example because an edge
+	 * drag has already started. Ties go to the first edge in left, right,
+	 * top, bottom order.
+	 *
+	 * @return The winning edge flag, or 0 if nothing was being arbitrated
+	 */
+	int decide() {
+		if (mWinner != 0 || mCandidates == 0) {
+			return mWinner;
+		}
+		float best = -Float.MAX_VALUE;
+		for (int edge : EDGES) {
+			if ((mCandidates & edge) == 0) {
+				continue;
+			}
+			final float score = score(edge);
+			if (score > best) {
+				best = score;
+				mWinner = edge;
+			}
+		}
+		return mWinner;
+	}
+
+	/**
+	 * @return The winning edge flag of the current gesture, or 0 if there is
+	 *         none
+	 */
+	int getWinner() {
+		return mWinner;
+	}
+
+	/**
+	 * Stop arbitrating. The next gesture starts from {@link #onDown}.
+	 */
+	void reset() {
+		mPointerId = -1;
+		mCandidates = 0;
+		mWinner = 0;
+		mSamples = 0;
+	}
+
+	// Distance moved towards opening the edge's drawer plus the latest
+	// velocity projected VELOCITY_LOOKAHEAD ahead
+	private float score(int edge) {
+		final float dx = mLastX - mDownX + mVelocityX * VELOCITY_LOOKAHEAD;
+		final float dy = mLastY - mDownY + mVelocityY * VELOCITY_LOOKAHEAD;
+		switch (edge) {
+		case ViewDragHelper.EDGE_LEFT:
+			return dx;
+		case ViewDragHelper.EDGE_RIGHT:
+			return -dx;
+		case ViewDragHelper.EDGE_TOP:
+			return dy;
+		default:
+			return -dy;
+		}
+	}
+}
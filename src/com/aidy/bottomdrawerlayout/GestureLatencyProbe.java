@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+/**
+ * GestureLatencyProbe timestamps the stages a touch goes through on its way to
+ * moving a drawer: the ACTION_DOWN, the edge hit, the touch slop being
+ * crossed, the drawer being captured, its first position change and the first
+ * frame drawn after it. The per-stage breakdown shows whether latency comes
+ * from the slop, the edge size or the peek delay.
+ *
+ * <p>
+ * Install an instance with the drawer layout's <code>setLatencyProbe</code>
+ * method. Stages are measured from the event time of the ACTION_DOWN, so the
+ * input pipeline's own delay is included. A gesture that moved a drawer is
+ * complete when its first drawn frame is recorded, or when the next gesture
+ * starts; completed gestures are added to per-stage histograms. A gesture that
+ * ends without moving a drawer, such as a tap, is dropped uncounted, so that a
+ * drawer moved later by other means is not timed against its down. Recording
+ * never allocates.
+ * </p>
+ */
+public class GestureLatencyProbe {
+	/**
+	 * Receives a callback for every completed gesture.
+	 */
+	public interface Listener {
+		/**
+		 * Called when a gesture is complete. {@link #getStageNanos(int)}
+		 * describes the gesture.
+		 *
+		 * @param probe
+		 *            The probe that recorded the gesture
+		 */
+		public void onGestureFinished(GestureLatencyProbe probe);
+	}
+
+	/**
+	 * ACTION_DOWN event time.
+	 */
+	public static final int STAGE_DOWN = 0;
+
+	/**
+	 * The down landed on a tracked edge.
+	 */
+	public static final int STAGE_EDGE = 1;
+
+	/**
+	 * The pointer moved past the touch slop. Not reached by a drawer that
+	 * only peeks from an edge touch.
+	 */
+	public static final int STAGE_SLOP = 2;
+
+	/**
+	 * A drawer was captured for dragging.
+	 */
+	public static final int STAGE_CAPTURED = 3;
+
+	/**
+	 * A drawer first changed position.
+	 */
+	public static final int STAGE_FIRST_MOVE = 4;
+
+	/**
+	 * The first frame was drawn after the drawer moved.
+	 */
+	public static final int STAGE_FIRST_DRAW = 5;
+
+	/**
+	 * Number of stages.
+	 */
+	public static final int STAGE_COUNT = 6;
+
+	private static final long NANOS_PER_MILLI = 1000000;
+
+	// Stage times of the current gesture in the System.nanoTime() time base;
+	// -1 for stages not reached.
+	private final long[] mStageTimes = new long[STAGE_COUNT];
+	private boolean mInGesture;
+
+	private final DrawerMetrics.Histogram[] mStageLatencies = new DrawerMetrics.Histogram[STAGE_COUNT];
+	private int mGestureCount;
+	private Listener mListener;
+
+	public GestureLatencyProbe() {
+		for (int i = 0; i < STAGE_COUNT; i++) {
+			mStageTimes[i] = -1;
+			mStageLatencies[i] = new DrawerMetrics.Histogram(500, 1);
+		}
+	}
+
+	public void setListener(Listener listener) {
+		mListener = listener;
+	}
+
+	/**
+	 * Start a gesture, finishing the previous one if it is still open and
+	 * moved a drawer.
+	 *
+	 * @param eventTimeMillis
+	 *            Event time of the ACTION_DOWN in the uptime time base
+	 */
+	void onDown(long eventTimeMillis) {
+		final long downTime = eventTimeMillis * NANOS_PER_MILLI;
+		if (mInGesture && mStageTimes[STAGE_DOWN] == downTime) {
+			// The same ACTION_DOWN dispatched twice, as when a parent
+			// replays it; keep the gesture already started.
+			return;
+		}
+		if (mInGesture && mStageTimes[STAGE_FIRST_MOVE] >= 0) {
+			finishGesture();
+		}
+		for (int i = 0; i < STAGE_COUNT; i++) {
+			mStageTimes[i] = -1;
+		}
+		mStageTimes[STAGE_DOWN] = downTime;
+		mInGesture = true;
+	}
+
+	/**
+	 * End the touch of the current gesture. A gesture that has not moved a
+	 * drawer by now is dropped without being counted.
+	 */
+	void onUp() {
+		if (mInGesture && mStageTimes[STAGE_FIRST_MOVE] < 0) {
+			mInGesture = false;
+		}
+	}
+
+	/**
+	 * Record that the current gesture reached a stage. Only the first time a
+	 * stage is reached counts.
+	 *
+	 * @param stage
+	 *            One of the <code>STAGE_*</code> constants after
+	 *            {@link #STAGE_DOWN}
+	 */
+	void mark(int stage) {
+		if (!mInGesture || mStageTimes[stage] >= 0) {
+			return;
+		}
+		if (stage == STAGE_FIRST_DRAW && mStageTimes[STAGE_FIRST_MOVE] < 0) {
+			// Only frames that show drawer movement count.
+			return;
+		}
+		mStageTimes[stage] = System.nanoTime();
+		if (stage == STAGE_FIRST_DRAW) {
+			finishGesture();
+		}
+	}
+
+	private void finishGesture() {
+		mInGesture = false;
+		final long down = mStageTimes[STAGE_DOWN];
+		for (int i = STAGE_DOWN + 1; i < STAGE_COUNT; i++) {
+			if (mStageTimes[i] >= 0) {
+				mStageLatencies[i].add(mStageTimes[i] - down);
+			}
+		}
+		mGestureCount++;
+		if (mListener != null) {
+			mListener.onGestureFinished(this);
+		}
+	}
+
+	/**
+	 * @param stage
+	 *            One of the <code>STAGE_*</code> constants
+	 * @return Time from the ACTION_DOWN to the stage in the most recent
+	 *         gesture, in nanoseconds, or -1 if the stage was not reached
+	 */
+	public long getStageNanos(int stage) {
+		checkStage(stage);
+		final long time = mStageTimes[stage];
+		return time >= 0 ? time - mStageTimes[STAGE_DOWN] : -1;
+	}
+
+	/**
+	 * @param stage
+	 *            One of the <code>STAGE_*</code> constants after
+	 *            {@link #STAGE_DOWN}
+	 * @return Latencies from the ACTION_DOWN to the stage over all completed
+	 *         gestures, in 1ms buckets
+	 */
+	public DrawerMetrics.Histogram getStageLatencies(int stage) {
+		checkStage(stage);
+		return mStageLatencies[stage];
+	}
+
+	/**
+	 * @return The number of completed gestures
+	 */
+	public int getGestureCount() {
+		return mGestureCount;
+	}
+
+	/**
+	 * Discard all recorded gestures.
+	 */
+	public void reset() {
+		mInGesture = false;
+		mGestureCount = 0;
+		for (int i = 0; i < STAGE_COUNT; i++) {
+			mStageTimes[i] = -1;
+			mStageLatencies[i].clear();
+		}
+	}
+
+	private static void checkStage(int stage) {
+		if (stage < 0 || stage >= STAGE_COUNT) {
+			throw new IllegalArgumentException("Unknown stage " + stage);
+		}
+	}
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+/**
+ * GestureRecorder captures the touch events a drawer layout receives, along
+ * with its drag state changes and drawer offsets, in a compact binary form for
+ * diagnosing problems in the field. Install one with the layout's
+ * <code>setGestureRecorder</code> method and call {@link #writeTo(File)} when
+ * something worth looking at has happened.
+ *
+ * <p>
+ * Records are stored in a preallocated ring of fixed-size chunks. Times and
+ * coordinates are encoded as variable-length deltas against the previous
+ * record in the same chunk, and every chunk starts from absolute values, so
+ * when the ring is full the oldest chunk can be dropped without breaking the
+ * chunks after it. Recording never allocates.
+ * </p>
+ *
+ * <p>
+ * {@link #readTrace(InputStream)} reads the touch events of a recording back
+ * into a {@link GestureTrace} so they can be replayed. Coordinates are
+ * stored with 1/16 pixel precision.
+ * </p>
+ */
+public class GestureRecorder {
+	private static final int MAGIC = 0x47545231; // "GTR1"
+
+	private static final int RECORD_MOTION = 1;
+	private static final int RECORD_DRAG_STATE = 2;
+	private static final int RECORD_DRAWER_OFFSET = 3;
+
+	private static final int CHUNK_SIZE = 4096;
+	private static final int DEFAULT_CAPACITY = 16 * CHUNK_SIZE;
+
+	// Fixed-point scale for coordinates and offsets
+	private static final float COORD_SCALE = 16.f;
+	private static final float OFFSET_SCALE = 10000.f;
+
+	// Tag, time and action, plus id, x and y for each pointer; 5 bytes per
+	// 32 bit varint and 10 per 64 bit one.
+	private static final int MAX_RECORD_SIZE = 1 + 10 + 5 + 5 + GestureTrace.MAX_POINTERS * 15;
+
+	private final byte[] mBuffer;
+	private final int[] mChunkLengths;
+	// Chunk being written and number of chunks holding data
+	private int mChunk;
+	private int mChunkCount;
+
+	// Delta base within the current chunk
+	private long mLastTime;
+	private final int[] mLastX = new int[GestureTrace.MAX_POINTERS];
+	private final int[] mLastY = new int[GestureTrace.MAX_POINTERS];
+
+	// Record being encoded, and the time that becomes the delta base once it
+	// is committed
+	private final byte[] mRecord = new byte[MAX_RECORD_SIZE];
+	private int mRecordLength;
+	private long mRecordTime;
+
+	public GestureRecorder() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity
+	 *            Buffer size in bytes. Rounded up to whole chunks of 4KB, with
+	 *            a minimum of two.
+	 */
+	public GestureRecorder(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		final int chunks = Math.max(2, (capacity + CHUNK_SIZE - 1) / CHUNK_SIZE);
+		mBuffer = new byte[chunks * CHUNK_SIZE];
+		mChunkLengths = new int[chunks];
+		mChunkCount = 1;
+	}
+
+	/**
+	 * Record a touch event. Only the first {@link GestureTrace#MAX_POINTERS}
+	 * pointers are kept, and historical samples are not recorded. A pointer
+	 * going down or up outside of the kept pointers is not recorded at all,
+	 * since its action would refer to a pointer the recording does not have.
+	 *
+	 * @param ev
+	 *            Event received by the layout
+	 */
+	public void recordMotionEvent(MotionEvent ev) {
+		final long time = ev.getEventTime();
+		final int pointerCount = Math.min(ev.getPointerCount(), GestureTrace.MAX_POINTERS);
+		if (!GestureTrace.isActionIndexValid(ev.getAction(), pointerCount)) {
+			return;
+		}
+		encodeMotion(ev, time, pointerCount);
+		if (!fits()) {
+			startChunk();
+			encodeMotion(ev, time, pointerCount);
+		}
+		commit();
+		for (int p = 0; p < pointerCount; p++) {
+			mLastX[p] = Math.round(ev.getX(p) * COORD_SCALE);
+			mLastY[p] = Math.round(ev.getY(p) * COORD_SCALE);
+		}
+	}
+
+	/**
+	 * Record a drag state change.
+	 *
+	 * @param state
+	 *            New drag state
+	 */
+	public void recordDragState(int state) {
+		final long time = SystemClock.uptimeMillis();
+		encodeValues(RECORD_DRAG_STATE, time, state, 0);
+		if (!fits()) {
+			startChunk();
+			encodeValues(RECORD_DRAG_STATE, time, state, 0);
+		}
+		commit();
+	}
+
+	/**
+	 * Record a drawer offset change.
+	 *
+	 * @param gravity
+	 *            Absolute gravity of the drawer
+	 * @param offset
+	 *            New offset, 0-1
+	 */
+	public void recordDrawerOffset(int gravity, float offset) {
+		final long time = SystemClock.uptimeMillis();
+		final int fixed = Math.round(offset * OFFSET_SCALE);
+		encodeValues(RECORD_DRAWER_OFFSET, time, gravity, fixed);
+		if (!fits()) {
+			startChunk();
+			encodeValues(RECORD_DRAWER_OFFSET, time, gravity, fixed);
+		}
+		commit();
+	}
+
+	private void encodeMotion(MotionEvent ev, long time, int pointerCount) {
+		mRecordLength = 0;
+		putVarint(RECORD_MOTION);
+		putVarLong(zigzag(time - mLastTime));
+		putVarint(ev.getAction());
+		putVarint(pointerCount);
+		for (int p = 0; p < pointerCount; p++) {
+			putVarint(ev.getPointerId(p));
+			putVarint(zigzag(Math.round(ev.getX(p) * COORD_SCALE) - mLastX[p]));
+			putVarint(zigzag(Math.round(ev.getY(p) * COORD_SCALE) - mLastY[p]));
+		}
+		mRecordTime = time;
+	}
+
+	private void encodeValues(int tag, long time, int value0, int value1) {
+		mRecordLength = 0;
+		putVarint(tag);
+		putVarLong(zigzag(time - mLastTime));
+		putVarint(value0);
+		if (tag == RECORD_DRAWER_OFFSET) {
+			putVarint(value1);
+		}
+		mRecordTime = time;
+	}
+
+	private boolean fits() {
+		return mChunkLengths[mChunk] + mRecordLength <= CHUNK_SIZE;
+	}
+
+	private void commit() {
+		System.arraycopy(mRecord, 0, mBuffer, mChunk * CHUNK_SIZE + mChunkLengths[mChunk], mRecordLength);
+		mChunkLengths[mChunk] += mRecordLength;
+		mLastTime = mRecordTime;
+	}
+
+	private void startChunk() {
+		mChunk = (mChunk + 1) % mChunkLengths.length;
+		mChunkLengths[mChunk] = 0;
+		if (mChunkCount < mChunkLengths.length) {
+			mChunkCount++;
+		}
+		mLastTime = 0;
+		for (int p = 0; p < GestureTrace.MAX_POINTERS; p++) {
+			mLastX[p] = 0;
+			mLastY[p] = 0;
+		}
+	}
+
+	/**
+	 * Discard everything recorded so far.
+	 */
+	public void clear() {
+		mChunk = 0;
+		mChunkCount = 1;
+		mChunkLengths[0] = 0;
+		mLastTime = 0;
+		for (int p = 0; p < GestureTrace.MAX_POINTERS; p++) {
+			mLastX[p] = 0;
+			mLastY[p] = 0;
+		}
+	}
+
+	/**
+	 * @return The number of bytes currently recorded
+	 */
+	public int getRecordedBytes() {
+		int total = 0;
+		for (int i = 0; i < mChunkCount; i++) {
+			total += mChunkLengths[chunkAt(i)];
+		}
+		return total;
+	}
+
+	private int chunkAt(int index) {
+		// Chunks are written in ring order ending at mChunk.
+		return (mChunk - mChunkCount + 1 + index + mChunkLengths.length) % mChunkLengths.length;
+	}
+
+	/**
+	 * Write the recording, oldest chunk first.
+	 *
+	 * @param out
+	 *            Stream to write to. It is not closed.
+	 * @throws IOException
+	 *             if the stream fails
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(MAGIC >>> 24);
+		out.write(MAGIC >>> 16);
+		out.write(MAGIC >>> 8);
+		out.write(MAGIC);
+		for (int i = 0; i < mChunkCount; i++) {
+			final int chunk = chunkAt(i);
+			final int length = mChunkLengths[chunk];
+			if (length == 0) {
+				continue;
+			}
+			writeVarint(out, length);
+			out.write(mBuffer, chunk * CHUNK_SIZE, length);
+		}
+	}
+
+	/**
+	 * Write the recording to a file, replacing its contents.
+	 *
+	 * @param file
+	 *            File to write
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void writeTo(File file) throws IOException {
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			writeTo(out);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Read the touch events of a recording written by {@link #writeTo}. Drag
+	 * state and offset records are skipped.
+	 *
+	 * @param in
+	 *            Stream positioned at the start of a recording
+	 * @return The recorded touch events
+	 * @throws IOException
+	 *             if the stream fails or does not hold a valid recording
+	 */
+	public static GestureTrace readTrace(InputStream in) throws IOException {
+		int magic = 0;
+		for (int i = 0; i < 4; i++) {
+			magic = magic << 8 | readByte(in);
+		}
+		if (magic != MAGIC) {
+			throw new IOException("Not a gesture recording");
+		}
+
+		// Count motion records first so the trace can be sized exactly.
+		final byte[] data = readFully(in);
+		final int[] pos = new int[1];
+		int motionCount = 0;
+		for (pos[0] = 0; pos[0] < data.length;) {
+			final int chunkEnd = readChunkEnd(data, pos);
+			while (pos[0] < chunkEnd) {
+				if (skipRecord(data, pos) == RECORD_MOTION) {
+					motionCount++;
+				}
+			}
+		}
+
+		final GestureTrace trace = new GestureTrace(Math.max(1, motionCount));
+		final int[] ids = new int[GestureTrace.MAX_POINTERS];
+		final float[] xs = new float[GestureTrace.MAX_POINTERS];
+		final float[] ys = new float[GestureTrace.MAX_POINTERS];
+		final int[] lastX = new int[GestureTrace.MAX_POINTERS];
+		final int[] lastY = new int[GestureTrace.MAX_POINTERS];
+		for (pos[0] = 0; pos[0] < data.length;) {
+			final int chunkEnd = readChunkEnd(data, pos);
+			long time = 0;
+			for (int p = 0; p < GestureTrace.MAX_POINTERS; p++) {
+				lastX[p] = 0;
+				lastY[p] = 0;
+			}
+			while (pos[0] < chunkEnd) {
+				final int tag = (int) readVarLong(data, pos);
+				time += unzigzag(readVarLong(data, pos));
+				switch (tag) {
+				case RECORD_MOTION: {
+					final int action = (int) readVarLong(data, pos);
+					final int pointerCount = (int) readVarLong(data, pos);
+					if (pointerCount <= 0 || pointerCount > GestureTrace.MAX_POINTERS) {
+						throw new IOException("Corrupt recording: " + pointerCount + " pointers");
+					}
+					if (!GestureTrace.isActionIndexValid(action, pointerCount)) {
+						throw new IOException("Corrupt recording: action " + action + " with " + pointerCount + " pointers");
+					}
+					for (int p = 0; p < pointerCount; p++) {
+						ids[p] = (int) readVarLong(data, pos);
+						lastX[p] += (int) unzigzag(readVarLong(data, pos));
+						lastY[p] += (int) unzigzag(readVarLong(data, pos));
+						xs[p] = lastX[p] / COORD_SCALE;
+						ys[p] = lastY[p] / COORD_SCALE;
+					}
+					trace.addEvent(time, action, pointerCount, ids, xs, ys);
+					break;
+				}
+				case RECORD_DRAG_STATE:
+					readVarLong(data, pos);
+					break;
+				case RECORD_DRAWER_OFFSET:
+					readVarLong(data, pos);
+					readVarLong(data, pos);
+					break;
+				default:
+					throw new IOException("Corrupt recording: record type " + tag);
+				}
+			}
+		}
+		return trace;
+	}
+
+	private static byte[] readFully(InputStream in) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[CHUNK_SIZE];
+		int n;
+		while ((n = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, n);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Read a chunk length prefix.
+	 * 
+	 * @return The position just past the end of the chunk
+	 */
+	private static int readChunkEnd(byte[] data, int[] pos) throws IOException {
+		final long length = readVarLong(data, pos);
+		if (length > CHUNK_SIZE || pos[0] + length > data.length) {
+			throw new EOFException("Truncated recording");
+		}
+		return pos[0] + (int) length;
+	}
+
+	private static int skipRecord(byte[] data, int[] pos) throws IOException {
+		final int tag = (int) readVarLong(data, pos);
+		readVarLong(data, pos);
+		switch (tag) {
+		case RECORD_MOTION: {
+			readVarLong(data, pos);
+			final int pointerCount = (int) readVarLong(data, pos);
+			for (int p = 0; p < pointerCount * 3; p++) {
+				readVarLong(data, pos);
+			}
+			break;
+		}
+		case RECORD_DRAG_STATE:
+			readVarLong(data, pos);
+			break;
+		case RECORD_DRAWER_OFFSET:
+			readVarLong(data, pos);
+			readVarLong(data, pos);
+			break;
+		default:
+			throw new IOException("Corrupt recording: record type " + tag);
+		}
+		return tag;
+	}
+
+	private void putVarint(int value) {
+		putVarLong(value & 0xffffffffL);
+	}
+
+	private void putVarLong(long value) {
+		while ((value & ~0x7fL) != 0) {
+			mRecord[mRecordLength++] = (byte) ((value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		mRecord[mRecordLength++] = (byte) value;
+	}
+
+	private static void writeVarint(OutputStream out, int value) throws IOException {
+		while ((value & ~0x7f) != 0) {
+			out.write((value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static long readVarLong(byte[] data, int[] pos) throws IOException {
+		long value = 0;
+		int shift = 0;
+		while (true) {
+			if (pos[0] >= data.length || shift > 63) {
+				throw new EOFException("Truncated recording");
+			}
+			final int b = data[pos[0]++];
+			value |= (long) (b & 0x7f) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+			shift += 7;
+		}
+	}
+
+	private static int readByte(InputStream in) throws IOException {
+		final int b = in.read();
+		if (b < 0) {
+			throw new EOFException("Truncated recording");
+		}
+		return b;
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
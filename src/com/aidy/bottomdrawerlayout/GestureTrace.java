@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.view.InputDevice;
+import android.view.MotionEvent;
+
+/**
+ * GestureTrace is a recorded sequence of touch events: event times, actions,
+ * pointer ids and coordinates. It can be built by hand, captured from live
+ * {@link MotionEvent}s, or read back from a recording, and turned into
+ * equivalent MotionEvents again with {@link #obtainMotionEvent(int)}, for
+ * example to dispatch them to a drawer layout from an instrumentation test.
+ *
+ * <p>
+ * Storage is preallocated for a fixed number of events with up to
+ * {@link #MAX_POINTERS} pointers each, so recording never allocates.
+ * </p>
+ */
+public final class GestureTrace {
+	/**
+	 * Most pointers recorded per event.
+	 */
+	public static final int MAX_POINTERS = 4;
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private final long[] mEventTimes;
+	private final long[] mDownTimes;
+	private final int[] mActions;
+	private final int[] mPointerCounts;
+	// Pointer data, MAX_POINTERS slots per event
+	private final int[] mPointerIds;
+	private final float[] mX;
+	private final float[] mY;
+	private int mCount;
+	private long mDownTime;
+
+	// Reused by obtainMotionEvent
+	private final MotionEvent.PointerProperties[] mProperties = new MotionEvent.PointerProperties[MAX_POINTERS];
+	private final MotionEvent.PointerCoords[] mCoords = new MotionEvent.PointerCoords[MAX_POINTERS];
+
+	public GestureTrace() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity
+	 *            Number of events the trace can hold
+	 */
+	public GestureTrace(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		mEventTimes = new long[capacity];
+		mDownTimes = new long[capacity];
+		mActions = new int[capacity];
+		mPointerCounts = new int[capacity];
+		mPointerIds = new int[capacity * MAX_POINTERS];
+		mX = new float[capacity * MAX_POINTERS];
+		mY = new float[capacity * MAX_POINTERS];
+		for (int i = 0; i < MAX_POINTERS; i++) {
+			mProperties[i] = new MotionEvent.PointerProperties();
+			mCoords[i] = new MotionEvent.PointerCoords();
+		}
+	}
+
+	/**
+	 * Append an event.
+	 *
+	 * @param eventTime
+	 *            Event time in milliseconds, in the {@link MotionEvent} time
+	 *            base
+	 * @param action
+	 *            Action including the pointer index, as returned by
+	 *            {@link MotionEvent#getAction()}
+	 * @param pointerCount
+	 *            Number of pointers, at most {@link #MAX_POINTERS}
+	 * @param pointerIds
+	 *            Pointer ids by pointer index
+	 * @param x
+	 *            X coordinates by pointer index
+	 * @param y
+	 *            Y coordinates by pointer index
+	 */
+	public void addEvent(long eventTime, int action, int pointerCount, int[] pointerIds, float[] x, float[] y) {
+		if ((action & MotionEvent.ACTION_MASK) == MotionEvent.ACTION_DOWN) {
+			mDownTime = eventTime;
+		}
+		final int i = beginEvent(mDownTime, eventTime, action, pointerCount);
+		for (int p = 0; p < pointerCount; p++) {
+			mPointerIds[i * MAX_POINTERS + p] = pointerIds[p];
+			mX[i * MAX_POINTERS + p] = x[p];
+			mY[i * MAX_POINTERS + p] = y[p];
+		}
+	}
+
+	/**
+	 * Append a copy of a live event. Historical samples are not recorded.
+	 * Only the first {@link #MAX_POINTERS} pointers are kept, and a pointer
+	 * down or up of a pointer beyond them is skipped.
+	 *
+	 * @param ev
+	 *            Event to record
+	 * @return true if the event was recorded
+	 */
+	public boolean addMotionEvent(MotionEvent ev) {
+		final int pointerCount = Math.min(ev.getPointerCount(), MAX_POINTERS);
+		final int action = ev.getAction();
+		if (!isActionIndexValid(action, pointerCount)) {
+			return false;
+		}
+		final int i = beginEvent(ev.getDownTime(), ev.getEventTime(), action, pointerCount);
+		for (int p = 0; p < pointerCount; p++) {
+			mPointerIds[i * MAX_POINTERS + p] = ev.getPointerId(p);
+			mX[i * MAX_POINTERS + p] = ev.getX(p);
+			mY[i * MAX_POINTERS + p] = ev.getY(p);
+		}
+		return true;
+	}
+
+	private int beginEvent(long downTime, long eventTime, int action, int pointerCount) {
+		if (mCount == mEventTimes.length) {
+			throw new IllegalStateException("Trace is full at " + mCount + " events");
+		}
+		if (pointerCount <= 0 || pointerCount > MAX_POINTERS) {
+			throw new IllegalArgumentException("Pointer count " + pointerCount + " out of range");
+		}
+		if (!isActionIndexValid(action, pointerCount)) {
+			throw new IllegalArgumentException("Action " + action + " refers to a pointer index beyond " + pointerCount
+					+ " pointers");
+		}
+		final int i = mCount++;
+		mEventTimes[i] = eventTime;
+		mDownTimes[i] = downTime;
+		mActions[i] = action;
+		mPointerCounts[i] = pointerCount;
+		return i;
+	}
+
+	/**
+	 * @param action
+	 *            Action of an event, with its pointer index
+	 * @param pointerCount
+	 *            Number of pointers in the event
+	 * @return false if the action is a pointer down or up whose pointer index
+	 *         is not among the event's pointers
+	 */
+	static boolean isActionIndexValid(int action, int pointerCount) {
+		final int masked = action & MotionEvent.ACTION_MASK;
+		if (masked != MotionEvent.ACTION_POINTER_DOWN && masked != MotionEvent.ACTION_POINTER_UP) {
+			return true;
+		}
+		final int index = (action & MotionEvent.ACTION_POINTER_INDEX_MASK) >> MotionEvent.ACTION_POINTER_INDEX_SHIFT;
+		return index < pointerCount;
+	}
+
+	/**
+	 * Discard all events.
+	 */
+	public void clear() {
+		mCount = 0;
+		mDownTime = 0;
+	}
+
+	/**
+	 * @return The number of events in the trace
+	 */
+	public int size() {
+		return mCount;
+	}
+
+	public long getDownTime(int index) {
+		return mDownTimes[checkIndex(index)];
+	}
+
+	public long getEventTime(int index) {
+		return mEventTimes[checkIndex(index)];
+	}
+
+	public int getAction(int index) {
+		return mActions[checkIndex(index)];
+	}
+
+	public int getPointerCount(int index) {
+		return mPointerCounts[checkIndex(index)];
+	}
+
+	public int getPointerId(int index, int pointerIndex) {
+		return mPointerIds[pointerSlot(index, pointerIndex)];
+	}
+
+	public float getX(int index, int pointerIndex) {
+		return mX[pointerSlot(index, pointerIndex)];
+	}
+
+	public float getY(int index, int pointerIndex) {
+		return mY[pointerSlot(index, pointerIndex)];
+	}
+
+	/**
+	 * Build a MotionEvent equivalent to a recorded event. The caller must
+	 * recycle it.
+	 *
+	 * @param index
+	 *            Index of the event
+	 * @return A new MotionEvent
+	 */
+	public MotionEvent obtainMotionEvent(int index) {
+		checkIndex(index);
+		final int pointerCount = mPointerCounts[index];
+		for (int p = 0; p < pointerCount; p++) {
+			final int slot = index * MAX_POINTERS + p;
+			final MotionEvent.PointerProperties properties = mProperties[p];
+			properties.clear();
+			properties.id = mPointerIds[slot];
+			final MotionEvent.PointerCoords coords = mCoords[p];
+			coords.clear();
+			coords.x = mX[slot];
+			coords.y = mY[slot];
+			coords.pressure = 1.f;
+			coords.size = 1.f;
+		}
+		return MotionEvent.obtain(mDownTimes[index], mEventTimes[index], mActions[index], pointerCount, mProperties, mCoords, 0, 0,
+				1.f, 1.f, 0, 0, InputDevice.SOURCE_TOUCHSCREEN, 0);
+	}
+
+	private int checkIndex(int index) {
+		if (index < 0 || index >= mCount) {
+			throw new IndexOutOfBoundsException("Event " + index + " out of range; trace has " + mCount);
+		}
+		return index;
+	}
+
+	private int pointerSlot(int index, int pointerIndex) {
+		checkIndex(index);
+		if (pointerIndex < 0 || pointerIndex >= mPointerCounts[index]) {
+			throw new IndexOutOfBoundsException("Pointer " + pointerIndex + " out of range for event " + index);
+		}
+		return index * MAX_POINTERS + pointerIndex;
+	}
+}
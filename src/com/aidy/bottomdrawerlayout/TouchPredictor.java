@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+/**
+ * Extrapolates the position of a single pointer a short time into the future
+ * from its recent samples. Used by {@link ViewDragHelper} to place a dragged
+ * view where the finger will be at the vsync of the frame that draws it rather
+ * than where it was when the last touch event was sampled.
+ *
+ * <p>
+ * Velocity is a least-squares fit over the samples in the last
+ * {@link #SAMPLE_WINDOW} milliseconds. The predicted lead is limited to the
+ * distance actually travelled within that window so that a stale or noisy fit
+ * cannot throw the view far ahead of the finger. The predictor is purely a
+ * function of the samples it is given and does not allocate after
+ * construction.
+ * </p>
+ */
+final class TouchPredictor {
+	private static final int MAX_SAMPLES = 8;
+	private static final long SAMPLE_WINDOW = 50; // ms
+	private static final int MIN_SAMPLES = 3;
+
+	private static final long NANOS_PER_MS = 1000000;
+
+	private final long[] mTimes = new long[MAX_SAMPLES];
+	private final float[] mX = new float[MAX_SAMPLES];
+	private final float[] mY = new float[MAX_SAMPLES];
+
+	// Index of the newest sample and number of valid samples
+	private int mNewest = -1;
+	private int mCount;
+
+	private float mPredictedX;
+	private float mPredictedY;
+
+	/**
+	 * Forget all samples.
+	 */
+	void clear() {
+		mNewest = -1;
+		mCount = 0;
+	}
+
+	/**
+	 * Record a sample. Samples must be added in time order; a sample with the
+	 * same time as the newest one replaces it.
+	 *
+	 * @param time
+	 *            Event time of the sample in milliseconds
+	 * @param x
+	 *            X position of the pointer
+	 * @param y
+	 *            Y position of the pointer
+	 */
+	void addSample(long time, float x, float y) {
+		if (mCount > 0 && time < mTimes[mNewest]) {
+			// Out of order stream; start over rather than fit garbage.
+			clear();
+		}
+		if (mCount == 0 || time != mTimes[mNewest]) {
+			mNewest = (mNewest + 1) % MAX_SAMPLES;
+			if (mCount < MAX_SAMPLES) {
+				mCount++;
+			}
+		}
+		mTimes[mNewest] = time;
+		mX[mNewest] = x;
+		mY[mNewest] = y;
+	}
+
+	/**
+	 * Predict the pointer position at the given time. The result is available
+	 * from {@link #getPredictedX()} and {@link #getPredictedY()}. If there are
+	 * too few recent samples the prediction is the newest sample.
+	 *
+	 * @param targetTimeNanos
+	 *            Time to predict for, in nanoseconds in the time base of the
+	 *            sample times, like a Choreographer frame time
+	 * @return true if the prediction extrapolated the samples
+	 */
+	boolean predict(long targetTimeNanos) {
+		if (mCount == 0) {
+			return false;
+		}
+		final long newestTime = mTimes[mNewest];
+		final float newestX = mX[mNewest];
+		final float newestY = mY[mNewest];
+		mPredictedX = newestX;
+		mPredictedY = newestY;
+
+		// Gather the samples inside the window, relative to the newest one.
+		int n = 0;
+		float sumT = 0, sumX = 0, sumY = 0, sumTT = 0, sumTX = 0, sumTY = 0;
+		int oldest = mNewest;
+		for (int i = 0; i < mCount; i++) {
+			final int slot = (mNewest - i + MAX_SAMPLES) % MAX_SAMPLES;
+			final float t = mTimes[slot] - newestTime;
+			if (-t > SAMPLE_WINDOW) {
+				break;
+			}
+			final float x = mX[slot] - newestX;
+			final float y = mY[slot] - newestY;
+			sumT += t;
+			sumX += x;
+			sumY += y;
+			sumTT += t * t;
+			sumTX += t * x;
+			sumTY += t * y;
+			oldest = slot;
+			n++;
+		}
+		final float denom = n * sumTT - sumT * sumT;
+		final long leadNanos = targetTimeNanos - newestTime * NANOS_PER_MS;
+		if (n < MIN_SAMPLES || denom == 0 || leadNanos <= 0) {
+			return false;
+		}
+		final float vx = (n * sumTX - sumT * sumX) / denom;
+		final float vy = (n * sumTY - sumT * sumY) / denom;
+		final float dt = (float) leadNanos / NANOS_PER_MS;
+		mPredictedX = newestX + clampLead(vx * dt, newestX - mX[oldest]);
+		mPredictedY = newestY + clampLead(vy * dt, newestY - mY[oldest]);
+		return true;
+	}
+
+	float getPredictedX() {
+		return mPredictedX;
+	}
+
+	float getPredictedY() {
+		return mPredictedY;
+	}
+
+	/**
+	 * Find the first vsync after a touch event, which is when the frame that
+	 * draws the event's effect starts. Vsyncs are assumed to follow a known
+	 * frame time at a fixed interval.
+	 *
+	 * @param eventTimeNanos
+	 *            Event time in nanoseconds
+	 * @param frameTimeNanos
+	 *            Time of any earlier or later vsync, in the same time base
+	 * @param frameIntervalNanos
+	 *            Time between vsyncs
+	 * @return The time of the first vsync after the event
+	 */
+	static long nextFrameTime(long eventTimeNanos, long frameTimeNanos, long frameIntervalNanos) {
+		final long sinceFrame = eventTimeNanos - frameTimeNanos;
+		// Whole intervals from the known vsync to the last one at or before
+		// the event, rounded down for events before it
+		final long frames = sinceFrame >= 0 ? sinceFrame / frameIntervalNanos
+				: -((-sinceFrame + frameIntervalNanos - 1) / frameIntervalNanos);
+		return frameTimeNanos + (frames + 1) * frameIntervalNanos;
+	}
+
+	/**
+	 * Limit a predicted lead to the distance travelled over the sample window
+	 * and drop it entirely if it points against the recent direction of
+	 * motion.
+	 */
+	static float clampLead(float lead, float travelled) {
+		if (lead * travelled <= 0) {
+			return 0;
+		}
+		final float limit = Math.abs(travelled);
+		return Math.max(-limit, Math.min(lead, limit));
+	}
+}
@@ -16,8 +16,6 @@
 
 package com.aidy.bottomdrawerlayout;
 
-import java.util.Arrays;
-
 import android.content.Context;
 import android.support.v4.view.MotionEventCompat;
 import android.support.v4.view.VelocityTrackerCompat;
@@ -101,8 +99,25 @@ public class ViewDragHelper {
 	 */
 	public static final int DIRECTION_ALL = DIRECTION_HORIZONTAL | DIRECTION_VERTICAL;
 
+	/**
+	 * Captured views are moved by offsetting their layout position.
+	 */
+	public static final int MOVE_MODE_OFFSET = 0;
+
+	/**
+	 * Captured views are moved by changing their translationX and
+	 * translationY. The layout position of the view is never touched.
+	 */
+	public static final int MOVE_MODE_TRANSLATION = 1;
+
 	private static final int EDGE_SIZE = 20; // dp
 
+	// MotionEvent pointer IDs are always less than 32, which is also the
+	// number of pointers mPointersDown can track.
+	private static final int MAX_POINTER_ID = 31;
+
+	private static final int MAX_PREDICTION_HORIZON = 50; // ms
+
 	private static final int BASE_SETTLE_DURATION = 256; // ms
 	private static final int MAX_SETTLE_DURATION = 600; // ms
 
@@ -112,15 +127,17 @@ public class ViewDragHelper {
 	// Distance to travel before a drag may begin
 	private int mTouchSlop;
 
-	// Last known position/pointer tracking
+	// Last known position/pointer tracking, indexed by pointer ID. The table
+	// is sized for every possible ID up front so that no gesture allocates,
+	// and only entries for pointers set in mPointersDown are ever non-zero.
 	private int mActivePointerId = INVALID_POINTER;
-	private float[] mInitialMotionX;
-	private float[] mInitialMotionY;
-	private float[] mLastMotionX;
-	private float[] mLastMotionY;
-	private int[] mInitialEdgesTouched;
-	private int[] mEdgeDragsInProgress;
-	private int[] mEdgeDragsLocked;
+	private final float[] mInitialMotionX = new float[MAX_POINTER_ID + 1];
+	private final float[] mInitialMotionY = new float[MAX_POINTER_ID + 1];
+	private final float[] mLastMotionX = new float[MAX_POINTER_ID + 1];
+	private final float[] mLastMotionY = new float[MAX_POINTER_ID + 1];
+	private final int[] mInitialEdgesTouched = new int[MAX_POINTER_ID + 1];
+	private final int[] mEdgeDragsInProgress = new int[MAX_POINTER_ID + 1];
+	private final int[] mEdgeDragsLocked = new int[MAX_POINTER_ID + 1];
 	private int mPointersDown;
 
 	private VelocityTracker mVelocityTracker;
@@ -131,12 +148,27 @@ public class ViewDragHelper {
 	private int mTrackingEdges;
 
 	private ScrollerCompat mScroller;
+	// Engine driving the current settle instead of mScroller, if any
+	private DrawerSettleEngine mSettleEngine;
 
 	private final Callback mCallback;
 
 	private View mCapturedView;
 	private boolean mReleaseInProgress;
 
+	private int mMoveMode = MOVE_MODE_OFFSET;
+
+	// Touch prediction for the active pointer while dragging. The captured
+	// view is mPredictedLead pixels ahead of the last real touch position.
+	private int mPredictionHorizon;
+	private TouchPredictor mPredictor;
+	private float mPredictedLeadX;
+	private float mPredictedLeadY;
+	// Latest vsync reported through setFrameTime, -1 if none; prediction
+	// targets the vsync grid it defines
+	private long mFrameTimeNanos = -1;
+	private long mFrameIntervalNanos;
+
 	private final ViewGroup mParentView;
 
 	/**
@@ -272,6 +304,20 @@ public class ViewDragHelper {
 		public void onEdgeDragStarted(int edgeFlags, int pointerId) {
 		}
 
+		/**
+		 * Called when a pointer that has not captured a view moves past the
+		 * touch slop over a child that can be dragged in the direction of the
+		 * motion, just before the child is offered for capture. It is called
+		 * again on later moves while no view is captured.
+		 * 
+		 * @param child
+		 *            Child view under the pointer
+		 * @param pointerId
+		 *            ID of the pointer that crossed the slop
+		 */
+		public void onTouchSlopCrossed(View child, int pointerId) {
+		}
+
 		/**
 		 * Called to determine the Z-order of child views.
 		 * 
@@ -373,6 +419,21 @@ public class ViewDragHelper {
 		public int clampViewPositionVertical(View child, int top, int dy) {
 			return 0;
 		}
+
+		/**
+		 * Return the engine that should settle the given child after a
+		 * release or a call to {@link #smoothSlideViewTo(View, int, int)}. The
+		 * default implementation returns null, which settles with a
+		 * fixed-curve scroller whose duration is derived from distance and
+		 * velocity.
+		 * 
+		 * @param child
+		 *            Child view about to settle
+		 * @return Engine to settle the child with, or null for the default
+		 */
+		public DrawerSettleEngine getSettleEngine(View child) {
+			return null;
+		}
 	}
 
 	/**
@@ -517,6 +578,182 @@ public class ViewDragHelper {
 		return mEdgeSize;
 	}
 
+	/**
+	 * Set the size of an edge. Takes effect from the next ACTION_DOWN; edges
+	 * already touched keep the size they were detected with.
+	 * 
+	 * @param edgeSize
+	 *            The size of an edge in pixels
+	 * @see #getEdgeSize()
+	 */
+	public void setEdgeSize(int edgeSize) {
+		if (edgeSize < 0) {
+			throw new IllegalArgumentException("Edge size may not be negative");
+		}
+		mEdgeSize = edgeSize;
+	}
+
+	/**
+	 * Set how captured views are moved while dragging and settling.
+	 * 
+	 * <p>
+	 * In {@link #MOVE_MODE_TRANSLATION} the helper only changes a view's
+	 * translation, which does not invalidate the parent's layout or display
+	 * list. All positions passed to and reported by the helper and its
+	 * {@link Callback} are then the visual positions of the view, that is its
+	 * layout position plus its translation. See {@link #getViewLeft(View)} and
+	 * {@link #getViewTop(View)}.
+	 * </p>
+	 * 
+	 * <p>
+	 * Any motion in progress is aborted. The parent is responsible for moving
+	 * its children to a consistent position for the new mode.
+	 * </p>
+	 * 
+	 * @param moveMode
+	 *            {@link #MOVE_MODE_OFFSET} or {@link #MOVE_MODE_TRANSLATION}
+	 */
+	public void setMoveMode(int moveMode) {
+		if (moveMode != MOVE_MODE_OFFSET && moveMode != MOVE_MODE_TRANSLATION) {
+			throw new IllegalArgumentException("Unknown move mode " + moveMode);
+		}
+		if (moveMode != mMoveMode) {
+			abort();
+			mMoveMode = moveMode;
+		}
+	}
+
+	/**
+	 * @return The current move mode
+	 * @see #setMoveMode(int)
+	 */
+	public int getMoveMode() {
+		return mMoveMode;
+	}
+
+	/**
+	 * Enable or disable touch prediction while dragging.
+	 * 
+	 * <p>
+	 * Touch events are sampled some time before the frame that shows their
+	 * effect, so a dragged view trails the finger. With a non-zero horizon the
+	 * helper fits the velocity of the active pointer over its recent samples,
+	 * including the historical samples batched into each move event, and
+	 * places the captured view where the finger is expected to be at the
+	 * vsync of the frame that draws the move, as reported through
+	 * {@link #setFrameTime(long, long)}. The prediction looks at most
+	 * <code>horizonMillis</code> past the latest sample, and exactly that far
+	 * if no frame time has been reported. It never leads by more than the
+	 * distance travelled over the last few samples and is dropped when the
+	 * finger reverses. Release velocity is unaffected.
+	 * </p>
+	 * 
+	 * @param horizonMillis
+	 *            How far ahead to predict at most, in milliseconds, typically
+	 *            about one frame. 0 disables prediction.
+	 */
+	public void setTouchPredictionHorizon(int horizonMillis) {
+		if (horizonMillis < 0 || horizonMillis > MAX_PREDICTION_HORIZON) {
+			throw new IllegalArgumentException("Prediction horizon must be between 0 and " + MAX_PREDICTION_HORIZON + "ms");
+		}
+		mPredictionHorizon = horizonMillis;
+		if (horizonMillis > 0 && mPredictor == null) {
+			mPredictor = new TouchPredictor();
+		}
+		resetPrediction();
+	}
+
+	/**
+	 * @return The touch prediction horizon in milliseconds, or 0 if prediction
+	 *         is disabled
+	 * @see #setTouchPredictionHorizon(int)
+	 */
+	public int getTouchPredictionHorizon() {
+		return mPredictionHorizon;
+	}
+
+	/**
+	 * Report the start of a frame so that touch prediction can target the
+	 * vsync that draws each move. Call it from a Choreographer frame callback
+	 * while dragging.
+	 * 
+	 * @param frameTimeNanos
+	 *            Frame time passed to the frame callback
+	 * @param frameIntervalNanos
+	 *            Time between vsyncs of the display
+	 * @see #setTouchPredictionHorizon(int)
+	 */
+	public void setFrameTime(long frameTimeNanos, long frameIntervalNanos) {
+		if (frameIntervalNanos <= 0) {
+			throw new IllegalArgumentException("Frame interval must be positive");
+		}
+		mFrameTimeNanos = frameTimeNanos;
+		mFrameIntervalNanos = frameIntervalNanos;
+	}
+
+	private void resetPrediction() {
+		if (mPredictor != null) {
+			mPredictor.clear();
+		}
+		mPredictedLeadX = 0;
+		mPredictedLeadY = 0;
+	}
+
+	/**
+	 * Return the visual left edge of a child in the parent's coordinate
+	 * system, taking the current move mode into account.
+	 * 
+	 * @param child
+	 *            Child view of the parent
+	 * @return The left position the child is drawn at
+	 */
+	public int getViewLeft(View child) {
+		final int left = child.getLeft();
+		return mMoveMode == MOVE_MODE_TRANSLATION ? left + (int) ViewCompat.getTranslationX(child) : left;
+	}
+
+	/**
+	 * Return the visual top edge of a child in the parent's coordinate system,
+	 * taking the current move mode into account.
+	 * 
+	 * @param child
+	 *            Child view of the parent
+	 * @return The top position the child is drawn at
+	 */
+	public int getViewTop(View child) {
+		final int top = child.getTop();
+		return mMoveMode == MOVE_MODE_TRANSLATION ? top + (int) ViewCompat.getTranslationY(child) : top;
+	}
+
+	/**
+	 * Move a child by the given distance using the current move mode. The
+	 * callback is not notified.
+	 * 
+	 * @param child
+	 *            Child view of the parent
+	 * @param dx
+	 *            Horizontal distance in pixels
+	 * @param dy
+	 *            Vertical distance in pixels
+	 */
+	public void offsetView(View child, int dx, int dy) {
+		if (mMoveMode == MOVE_MODE_TRANSLATION) {
+			if (dx != 0) {
+				ViewCompat.setTranslationX(child, ViewCompat.getTranslationX(child) + dx);
+			}
+			if (dy != 0) {
+				ViewCompat.setTranslationY(child, ViewCompat.getTranslationY(child) + dy);
+			}
+		} else {
+			if (dx != 0) {
+				child.offsetLeftAndRight(dx);
+			}
+			if (dy != 0) {
+				child.offsetTopAndBottom(dy);
+			}
+		}
+	}
+
 	/**
 	 * Capture a specific child view for dragging within the parent. The
 	 * callback will be notified but
@@ -536,6 +773,7 @@ public class ViewDragHelper {
 
 		mCapturedView = childView;
 		mActivePointerId = activePointerId;
+		resetPrediction();
 		mCallback.onViewCaptured(childView, activePointerId);
 		setDragState(STATE_DRAGGING);
 	}
@@ -572,10 +810,13 @@ public class ViewDragHelper {
 	public void cancel() {
 		mActivePointerId = INVALID_POINTER;
 		clearMotionHistory();
+		resetPrediction();
 
 		if (mVelocityTracker != null) {
-			mVelocityTracker.recycle();
-			mVelocityTracker = null;
+			// Keep the tracker for the next gesture instead of recycling it;
+			// every ACTION_DOWN calls through here and re-obtaining it would
+			// allocate once per gesture per helper.
+			mVelocityTracker.clear();
 		}
 	}
 
@@ -586,11 +827,11 @@ public class ViewDragHelper {
 	public void abort() {
 		cancel();
 		if (mDragState == STATE_SETTLING) {
-			final int oldX = mScroller.getCurrX();
-			final int oldY = mScroller.getCurrY();
-			mScroller.abortAnimation();
-			final int newX = mScroller.getCurrX();
-			final int newY = mScroller.getCurrY();
+			final int oldX = getSettleCurrX();
+			final int oldY = getSettleCurrY();
+			abortSettle();
+			final int newX = getSettleCurrX();
+			final int newY = getSettleCurrY();
 			mCallback.onViewPositionChanged(mCapturedView, newX, newY, newX - oldX, newY - oldY);
 		}
 		setDragState(STATE_IDLE);
@@ -664,28 +905,66 @@ public class ViewDragHelper {
 	 *         {@link #continueSettling(boolean)} calls
 	 */
 	private boolean forceSettleCapturedViewAt(int finalLeft, int finalTop, int xvel, int yvel) {
-		final int startLeft = mCapturedView.getLeft();
-		final int startTop = mCapturedView.getTop();
+		final int startLeft = getViewLeft(mCapturedView);
+		final int startTop = getViewTop(mCapturedView);
 		final int dx = finalLeft - startLeft;
 		final int dy = finalTop - startTop;
 
 		if (dx == 0 && dy == 0) {
 			// Nothing to do. Send callbacks, be done.
-			mScroller.abortAnimation();
+			abortSettle();
 			setDragState(STATE_IDLE);
 			return false;
 		}
 
-		final int duration = computeSettleDuration(mCapturedView, dx, dy, xvel, yvel);
-		mScroller.startScroll(startLeft, startTop, dx, dy, duration);
+		final DrawerSettleEngine engine = mCallback.getSettleEngine(mCapturedView);
+		if (engine != null) {
+			mScroller.abortAnimation();
+			engine.start(startLeft, startTop, finalLeft, finalTop, xvel, yvel);
+		} else {
+			final int duration = computeSettleDuration(mCapturedView, dx, dy, xvel, yvel);
+			mScroller.startScroll(startLeft, startTop, dx, dy, duration);
+		}
+		mSettleEngine = engine;
 
 		setDragState(STATE_SETTLING);
 		return true;
 	}
 
 	private int computeSettleDuration(View child, int dx, int dy, int xvel, int yvel) {
-		xvel = clampMag(xvel, (int) mMinVelocity, (int) mMaxVelocity);
-		yvel = clampMag(yvel, (int) mMinVelocity, (int) mMaxVelocity);
+		return computeSettleDuration(dx, dy, xvel, yvel, mCallback.getViewHorizontalDragRange(child),
+				mCallback.getViewVerticalDragRange(child), mParentView.getWidth(), (int) mMinVelocity, (int) mMaxVelocity);
+	}
+
+	/**
+	 * Compute the duration of a settle animation. This and the other static
+	 * helpers below depend only on their arguments so that they can be
+	 * exercised without a view hierarchy.
+	 * 
+	 * @param dx
+	 *            Distance to travel along the X axis
+	 * @param dy
+	 *            Distance to travel along the Y axis
+	 * @param xvel
+	 *            Initial X velocity in pixels per second
+	 * @param yvel
+	 *            Initial Y velocity in pixels per second
+	 * @param horizontalRange
+	 *            Horizontal drag range of the settling view
+	 * @param verticalRange
+	 *            Vertical drag range of the settling view
+	 * @param parentWidth
+	 *            Width of the parent view
+	 * @param minVelocity
+	 *            Minimum significant velocity
+	 * @param maxVelocity
+	 *            Maximum velocity
+	 * @return Settle duration in milliseconds
+	 */
+	static int computeSettleDuration(int dx, int dy, int xvel, int yvel, int horizontalRange, int verticalRange, int parentWidth,
+			int minVelocity, int maxVelocity) {
+		xvel = clampMag(xvel, minVelocity, maxVelocity);
+		yvel = clampMag(yvel, minVelocity, maxVelocity);
 		final int absDx = Math.abs(dx);
 		final int absDy = Math.abs(dy);
 		final int absXVel = Math.abs(xvel);
@@ -696,18 +975,17 @@ public class ViewDragHelper {
 		final float xweight = xvel != 0 ? (float) absXVel / addedVel : (float) absDx / addedDistance;
 		final float yweight = yvel != 0 ? (float) absYVel / addedVel : (float) absDy / addedDistance;
 
-		int xduration = computeAxisDuration(dx, xvel, mCallback.getViewHorizontalDragRange(child));
-		int yduration = computeAxisDuration(dy, yvel, mCallback.getViewVerticalDragRange(child));
+		int xduration = computeAxisDuration(dx, xvel, horizontalRange, parentWidth);
+		int yduration = computeAxisDuration(dy, yvel, verticalRange, parentWidth);
 
 		return (int) (xduration * xweight + yduration * yweight);
 	}
 
-	private int computeAxisDuration(int delta, int velocity, int motionRange) {
+	static int computeAxisDuration(int delta, int velocity, int motionRange, int width) {
 		if (delta == 0) {
 			return 0;
 		}
 
-		final int width = mParentView.getWidth();
 		final int halfWidth = width / 2;
 		final float distanceRatio = Math.min(1f, (float) Math.abs(delta) / width);
 		final float distance = halfWidth + halfWidth * distanceInfluenceForSnapDuration(distanceRatio);
@@ -736,7 +1014,7 @@ public class ViewDragHelper {
 	 *            Absolute value of the maximum value to return
 	 * @return The clamped value with the same sign as <code>value</code>
 	 */
-	private int clampMag(int value, int absMin, int absMax) {
+	static int clampMag(int value, int absMin, int absMax) {
 		final int absValue = Math.abs(value);
 		if (absValue < absMin)
 			return 0;
@@ -758,7 +1036,7 @@ public class ViewDragHelper {
 	 *            Absolute value of the maximum value to return
 	 * @return The clamped value with the same sign as <code>value</code>
 	 */
-	private float clampMag(float value, float absMin, float absMax) {
+	static float clampMag(float value, float absMin, float absMax) {
 		final float absValue = Math.abs(value);
 		if (absValue < absMin)
 			return 0;
@@ -767,7 +1045,7 @@ public class ViewDragHelper {
 		return value;
 	}
 
-	private float distanceInfluenceForSnapDuration(float f) {
+	static float distanceInfluenceForSnapDuration(float f) {
 		f -= 0.5f; // center the values about 0.
 		f *= 0.3f * Math.PI / 2.0f;
 		return (float) Math.sin(f);
@@ -792,7 +1070,8 @@ public class ViewDragHelper {
 			throw new IllegalStateException("Cannot flingCapturedView outside of a call to " + "Callback#onViewReleased");
 		}
 
-		mScroller.fling(mCapturedView.getLeft(), mCapturedView.getTop(),
+		mSettleEngine = null;
+		mScroller.fling(getViewLeft(mCapturedView), getViewTop(mCapturedView),
 				(int) VelocityTrackerCompat.getXVelocity(mVelocityTracker, mActivePointerId),
 				(int) VelocityTrackerCompat.getYVelocity(mVelocityTracker, mActivePointerId), minLeft, maxLeft, minTop, maxTop);
 
@@ -813,29 +1092,24 @@ public class ViewDragHelper {
 	 */
 	public boolean continueSettling(boolean deferCallbacks) {
 		if (mDragState == STATE_SETTLING) {
-			boolean keepGoing = mScroller.computeScrollOffset();
-			final int x = mScroller.getCurrX();
-			final int y = mScroller.getCurrY();
-			final int dx = x - mCapturedView.getLeft();
-			final int dy = y - mCapturedView.getTop();
-
-			if (dx != 0) {
-				mCapturedView.offsetLeftAndRight(dx);
-			}
-			if (dy != 0) {
-				mCapturedView.offsetTopAndBottom(dy);
-			}
+			final DrawerSettleEngine engine = mSettleEngine;
+			boolean keepGoing = engine != null ? engine.computeOffset() : mScroller.computeScrollOffset();
+			final int x = getSettleCurrX();
+			final int y = getSettleCurrY();
+			final int dx = x - getViewLeft(mCapturedView);
+			final int dy = y - getViewTop(mCapturedView);
 
 			if (dx != 0 || dy != 0) {
+				offsetView(mCapturedView, dx, dy);
 				mCallback.onViewPositionChanged(mCapturedView, x, y, dx, dy);
 			}
 
-			if (keepGoing && x == mScroller.getFinalX() && y == mScroller.getFinalY()) {
+			if (keepGoing && x == getSettleFinalX() && y == getSettleFinalY()) {
 				// Close enough. The interpolator/scroller might think we're
 				// still moving
 				// but the user sure doesn't.
-				mScroller.abortAnimation();
-				keepGoing = mScroller.isFinished();
+				abortSettle();
+				keepGoing = false;
 			}
 
 			if (!keepGoing) {
@@ -850,6 +1124,29 @@ public class ViewDragHelper {
 		return mDragState == STATE_SETTLING;
 	}
 
+	private int getSettleCurrX() {
+		return mSettleEngine != null ? mSettleEngine.getCurrX() : mScroller.getCurrX();
+	}
+
+	private int getSettleCurrY() {
+		return mSettleEngine != null ? mSettleEngine.getCurrY() : mScroller.getCurrY();
+	}
+
+	private int getSettleFinalX() {
+		return mSettleEngine != null ? mSettleEngine.getFinalX() : mScroller.getFinalX();
+	}
+
+	private int getSettleFinalY() {
+		return mSettleEngine != null ? mSettleEngine.getFinalY() : mScroller.getFinalY();
+	}
+
+	private void abortSettle() {
+		if (mSettleEngine != null) {
+			mSettleEngine.abortAnimation();
+		}
+		mScroller.abortAnimation();
+	}
+
 	/**
 	 * Like all callback events this must happen on the UI thread, but release
 	 * involves some extra semantics. During a release (mReleaseInProgress) is
@@ -869,23 +1166,16 @@ public class ViewDragHelper {
 	}
 
 	private void clearMotionHistory() {
-		if (mInitialMotionX == null) {
-			return;
-		}
-		Arrays.fill(mInitialMotionX, 0);
-		Arrays.fill(mInitialMotionY, 0);
-		Arrays.fill(mLastMotionX, 0);
-		Arrays.fill(mLastMotionY, 0);
-		Arrays.fill(mInitialEdgesTouched, 0);
-		Arrays.fill(mEdgeDragsInProgress, 0);
-		Arrays.fill(mEdgeDragsLocked, 0);
+		int pointersDown = mPointersDown;
+		while (pointersDown != 0) {
+			final int pointerId = Integer.numberOfTrailingZeros(pointersDown);
+			clearMotionHistory(pointerId);
+			pointersDown &= pointersDown - 1;
+		}
 		mPointersDown = 0;
 	}
 
 	private void clearMotionHistory(int pointerId) {
-		if (mInitialMotionX == null) {
-			return;
-		}
 		mInitialMotionX[pointerId] = 0;
 		mInitialMotionY[pointerId] = 0;
 		mLastMotionX[pointerId] = 0;
@@ -896,48 +1186,48 @@ public class ViewDragHelper {
 		mPointersDown &= ~(1 << pointerId);
 	}
 
-	private void ensureMotionHistorySizeForId(int pointerId) {
-		if (mInitialMotionX == null || mInitialMotionX.length <= pointerId) {
-			float[] imx = new float[pointerId + 1];
-			float[] imy = new float[pointerId + 1];
-			float[] lmx = new float[pointerId + 1];
-			float[] lmy = new float[pointerId + 1];
-			int[] iit = new int[pointerId + 1];
-			int[] edip = new int[pointerId + 1];
-			int[] edl = new int[pointerId + 1];
-
-			if (mInitialMotionX != null) {
-				System.arraycopy(mInitialMotionX, 0, imx, 0, mInitialMotionX.length);
-				System.arraycopy(mInitialMotionY, 0, imy, 0, mInitialMotionY.length);
-				System.arraycopy(mLastMotionX, 0, lmx, 0, mLastMotionX.length);
-				System.arraycopy(mLastMotionY, 0, lmy, 0, mLastMotionY.length);
-				System.arraycopy(mInitialEdgesTouched, 0, iit, 0, mInitialEdgesTouched.length);
-				System.arraycopy(mEdgeDragsInProgress, 0, edip, 0, mEdgeDragsInProgress.length);
-				System.arraycopy(mEdgeDragsLocked, 0, edl, 0, mEdgeDragsLocked.length);
-			}
-
-			mInitialMotionX = imx;
-			mInitialMotionY = imy;
-			mLastMotionX = lmx;
-			mLastMotionY = lmy;
-			mInitialEdgesTouched = iit;
-			mEdgeDragsInProgress = edip;
-			mEdgeDragsLocked = edl;
-		}
-	}
-
 	private void saveInitialMotion(float x, float y, int pointerId) {
-		ensureMotionHistorySizeForId(pointerId);
 		mInitialMotionX[pointerId] = mLastMotionX[pointerId] = x;
 		mInitialMotionY[pointerId] = mLastMotionY[pointerId] = y;
 		mInitialEdgesTouched[pointerId] = getEdgesTouched((int) x, (int) y);
 		mPointersDown |= 1 << pointerId;
 	}
 
+	/**
+	 * Feed the active pointer's batched and current samples to the predictor
+	 * and update the predicted lead for the next vsync.
+	 */
+	private void predictActivePointer(MotionEvent ev, int index) {
+		final TouchPredictor predictor = mPredictor;
+		final int historySize = ev.getHistorySize();
+		for (int h = 0; h < historySize; h++) {
+			predictor.addSample(ev.getHistoricalEventTime(h), ev.getHistoricalX(index, h), ev.getHistoricalY(index, h));
+		}
+		final long eventTime = ev.getEventTime();
+		final float x = MotionEventCompat.getX(ev, index);
+		final float y = MotionEventCompat.getY(ev, index);
+		predictor.addSample(eventTime, x, y);
+		final long eventTimeNanos = eventTime * 1000000;
+		long targetNanos = eventTimeNanos + mPredictionHorizon * 1000000L;
+		if (mFrameTimeNanos >= 0) {
+			// Event times share the Choreographer's time base.
+			targetNanos = Math.min(targetNanos,
+					TouchPredictor.nextFrameTime(eventTimeNanos, mFrameTimeNanos, mFrameIntervalNanos));
+		}
+		predictor.predict(targetNanos);
+		mPredictedLeadX = predictor.getPredictedX() - x;
+		mPredictedLeadY = predictor.getPredictedY() - y;
+	}
+
 	private void saveLastMotion(MotionEvent ev) {
 		final int pointerCount = MotionEventCompat.getPointerCount(ev);
 		for (int i = 0; i < pointerCount; i++) {
 			final int pointerId = MotionEventCompat.getPointerId(ev, i);
+			if (!isPointerDown(pointerId)) {
+				// We never saw this pointer go down; don't start tracking it
+				// mid-stream.
+				continue;
+			}
 			final float x = MotionEventCompat.getX(ev, i);
 			final float y = MotionEventCompat.getY(ev, i);
 			mLastMotionX[pointerId] = x;
@@ -1117,6 +1407,9 @@ public class ViewDragHelper {
 			final int pointerCount = MotionEventCompat.getPointerCount(ev);
 			for (int i = 0; i < pointerCount; i++) {
 				final int pointerId = MotionEventCompat.getPointerId(ev, i);
+				if (!isPointerDown(pointerId)) {
+					continue;
+				}
 				final float x = MotionEventCompat.getX(ev, i);
 				final float y = MotionEventCompat.getY(ev, i);
 				final float dx = x - mInitialMotionX[pointerId];
@@ -1129,8 +1422,11 @@ public class ViewDragHelper {
 				}
 
 				final View toCapture = findTopChildUnder((int) x, (int) y);
-				if (toCapture != null && checkTouchSlop(toCapture, dx, dy) && tryCaptureViewForDrag(toCapture, pointerId)) {
-					break;
+				if (toCapture != null && checkTouchSlop(toCapture, dx, dy)) {
+					mCallback.onTouchSlopCrossed(toCapture, pointerId);
+					if (tryCaptureViewForDrag(toCapture, pointerId)) {
+						break;
+					}
 				}
 			}
 			saveLastMotion(ev);
@@ -1231,12 +1527,26 @@ public class ViewDragHelper {
 		case MotionEvent.ACTION_MOVE: {
 			if (mDragState == STATE_DRAGGING) {
 				final int index = MotionEventCompat.findPointerIndex(ev, mActivePointerId);
+				if (index < 0) {
+					// The active pointer is not part of this event; wait for
+					// one that carries it.
+					break;
+				}
 				final float x = MotionEventCompat.getX(ev, index);
 				final float y = MotionEventCompat.getY(ev, index);
-				final int idx = (int) (x - mLastMotionX[mActivePointerId]);
-				final int idy = (int) (y - mLastMotionY[mActivePointerId]);
+				int idx = (int) (x - mLastMotionX[mActivePointerId]);
+				int idy = (int) (y - mLastMotionY[mActivePointerId]);
+
+				if (mPredictionHorizon > 0) {
+					// Move by the real delta plus the change in predicted lead.
+					final float leadX = mPredictedLeadX;
+					final float leadY = mPredictedLeadY;
+					predictActivePointer(ev, index);
+					idx = (int) (x + mPredictedLeadX - mLastMotionX[mActivePointerId] - leadX);
+					idy = (int) (y + mPredictedLeadY - mLastMotionY[mActivePointerId] - leadY);
+				}
 
-				dragTo(mCapturedView.getLeft() + idx, mCapturedView.getTop() + idy, idx, idy);
+				dragTo(getViewLeft(mCapturedView) + idx, getViewTop(mCapturedView) + idy, idx, idy);
 
 				saveLastMotion(ev);
 			} else {
@@ -1244,6 +1554,9 @@ public class ViewDragHelper {
 				final int pointerCount = MotionEventCompat.getPointerCount(ev);
 				for (int i = 0; i < pointerCount; i++) {
 					final int pointerId = MotionEventCompat.getPointerId(ev, i);
+					if (!isPointerDown(pointerId)) {
+						continue;
+					}
 					final float x = MotionEventCompat.getX(ev, i);
 					final float y = MotionEventCompat.getY(ev, i);
 					final float dx = x - mInitialMotionX[pointerId];
@@ -1256,8 +1569,11 @@ public class ViewDragHelper {
 					}
 
 					final View toCapture = findTopChildUnder((int) x, (int) y);
-					if (checkTouchSlop(toCapture, dx, dy) && tryCaptureViewForDrag(toCapture, pointerId)) {
-						break;
+					if (checkTouchSlop(toCapture, dx, dy)) {
+						mCallback.onTouchSlopCrossed(toCapture, pointerId);
+						if (tryCaptureViewForDrag(toCapture, pointerId)) {
+							break;
+						}
 					}
 				}
 				saveLastMotion(ev);
@@ -1371,13 +1687,29 @@ public class ViewDragHelper {
 		}
 		final boolean checkHorizontal = mCallback.getViewHorizontalDragRange(child) > 0;
 		final boolean checkVertical = mCallback.getViewVerticalDragRange(child) > 0;
+		return isPastSlop(dx, dy, checkHorizontal, checkVertical, mTouchSlop);
+	}
 
+	/**
+	 * @param dx
+	 *            Motion since initial position along X axis
+	 * @param dy
+	 *            Motion since initial position along Y axis
+	 * @param checkHorizontal
+	 *            true if motion along the X axis counts toward the slop
+	 * @param checkVertical
+	 *            true if motion along the Y axis counts toward the slop
+	 * @param touchSlop
+	 *            Slop distance in pixels
+	 * @return true if the touch slop has been crossed
+	 */
+	static boolean isPastSlop(float dx, float dy, boolean checkHorizontal, boolean checkVertical, int touchSlop) {
 		if (checkHorizontal && checkVertical) {
-			return dx * dx + dy * dy > mTouchSlop * mTouchSlop;
+			return dx * dx + dy * dy > touchSlop * touchSlop;
 		} else if (checkHorizontal) {
-			return Math.abs(dx) > mTouchSlop;
+			return Math.abs(dx) > touchSlop;
 		} else if (checkVertical) {
-			return Math.abs(dy) > mTouchSlop;
+			return Math.abs(dy) > touchSlop;
 		}
 		return false;
 	}
@@ -1401,11 +1733,12 @@ public class ViewDragHelper {
 	 * @return true if the slop threshold has been crossed, false otherwise
 	 */
 	public boolean checkTouchSlop(int directions) {
-		final int count = mInitialMotionX.length;
-		for (int i = 0; i < count; i++) {
-			if (checkTouchSlop(directions, i)) {
+		int pointersDown = mPointersDown;
+		while (pointersDown != 0) {
+			if (checkTouchSlop(directions, Integer.numberOfTrailingZeros(pointersDown))) {
 				return true;
 			}
+			pointersDown &= pointersDown - 1;
 		}
 		return false;
 	}
@@ -1440,15 +1773,7 @@ public class ViewDragHelper {
 
 		final float dx = mLastMotionX[pointerId] - mInitialMotionX[pointerId];
 		final float dy = mLastMotionY[pointerId] - mInitialMotionY[pointerId];
-
-		if (checkHorizontal && checkVertical) {
-			return dx * dx + dy * dy > mTouchSlop * mTouchSlop;
-		} else if (checkHorizontal) {
-			return Math.abs(dx) > mTouchSlop;
-		} else if (checkVertical) {
-			return Math.abs(dy) > mTouchSlop;
-		}
-		return false;
+		return isPastSlop(dx, dy, checkHorizontal, checkVertical, mTouchSlop);
 	}
 
 	/**
@@ -1464,11 +1789,12 @@ public class ViewDragHelper {
 	 *         current gesture
 	 */
 	public boolean isEdgeTouched(int edges) {
-		final int count = mInitialEdgesTouched.length;
-		for (int i = 0; i < count; i++) {
-			if (isEdgeTouched(edges, i)) {
+		int pointersDown = mPointersDown;
+		while (pointersDown != 0) {
+			if (isEdgeTouched(edges, Integer.numberOfTrailingZeros(pointersDown))) {
 				return true;
 			}
+			pointersDown &= pointersDown - 1;
 		}
 		return false;
 	}
@@ -1500,20 +1826,19 @@ public class ViewDragHelper {
 	private void dragTo(int left, int top, int dx, int dy) {
 		int clampedX = left;
 		int clampedY = top;
-		final int oldLeft = mCapturedView.getLeft();
-		final int oldTop = mCapturedView.getTop();
+		final int oldLeft = getViewLeft(mCapturedView);
+		final int oldTop = getViewTop(mCapturedView);
 		if (dx != 0) {
 			clampedX = mCallback.clampViewPositionHorizontal(mCapturedView, left, dx);
-			mCapturedView.offsetLeftAndRight(clampedX - oldLeft);
 		}
 		if (dy != 0) {
 			clampedY = mCallback.clampViewPositionVertical(mCapturedView, top, dy);
-			mCapturedView.offsetTopAndBottom(clampedY - oldTop);
 		}
 
 		if (dx != 0 || dy != 0) {
 			final int clampedDx = clampedX - oldLeft;
 			final int clampedDy = clampedY - oldTop;
+			offsetView(mCapturedView, clampedDx, clampedDy);
 			mCallback.onViewPositionChanged(mCapturedView, clampedX, clampedY, clampedDx, clampedDy);
 		}
 	}
@@ -1551,7 +1876,7 @@ public class ViewDragHelper {
 		if (view == null) {
 			return false;
 		}
-		return x >= view.getLeft() && x < view.getRight() && y >= view.getTop() && y < view.getBottom();
+		return isViewUnderInternal(view, x, y);
 	}
 
 	/**
@@ -1569,23 +1894,34 @@ public class ViewDragHelper {
 		final int childCount = mParentView.getChildCount();
 		for (int i = childCount - 1; i >= 0; i--) {
 			final View child = mParentView.getChildAt(mCallback.getOrderedChildIndex(i));
-			if (x >= child.getLeft() && x < child.getRight() && y >= child.getTop() && y < child.getBottom()) {
+			if (isViewUnderInternal(child, x, y)) {
 				return child;
 			}
 		}
 		return null;
 	}
 
+	private boolean isViewUnderInternal(View view, int x, int y) {
+		final int left = getViewLeft(view);
+		final int top = getViewTop(view);
+		return x >= left && x < left + view.getWidth() && y >= top && y < top + view.getHeight();
+	}
+
 	private int getEdgesTouched(int x, int y) {
+		return getEdgesTouched(x, y, mParentView.getLeft(), mParentView.getTop(), mParentView.getRight(), mParentView.getBottom(),
+				mEdgeSize);
+	}
+
+	static int getEdgesTouched(int x, int y, int left, int top, int right, int bottom, int edgeSize) {
 		int result = 0;
 
-		if (x < mParentView.getLeft() + mEdgeSize)
+		if (x < left + edgeSize)
 			result |= EDGE_LEFT;
-		if (y < mParentView.getTop() + mEdgeSize)
+		if (y < top + edgeSize)
 			result |= EDGE_TOP;
-		if (x > mParentView.getRight() - mEdgeSize)
+		if (x > right - edgeSize)
 			result |= EDGE_RIGHT;
-		if (y > mParentView.getBottom() - mEdgeSize)
+		if (y > bottom - edgeSize)
 			result |= EDGE_BOTTOM;
 
 		return result;
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.os.Debug;
+import android.test.InstrumentationTestCase;
+import android.test.suitebuilder.annotation.MediumTest;
+import android.view.Gravity;
+
+/**
+ * Replays drags with the layout's allocation check on and fails if any drag
+ * move or settle frame allocated once the layout has warmed up.
+ */
+@MediumTest
+public class AllocationTest extends InstrumentationTestCase {
+	private static final int WIDTH = GestureReplayTest.WIDTH;
+	private static final int HEIGHT = GestureReplayTest.HEIGHT;
+
+	private Object mAllocated;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		Debug.startAllocCounting();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		Debug.stopAllocCounting();
+		super.tearDown();
+	}
+
+	public void testDragAndSettleDoNotAllocate() {
+		if (!AllocationCheck.ENABLED) {
+			// Compiled out of release builds.
+			return;
+		}
+		Debug.resetThreadAllocCount();
+		mAllocated = new Object();
+		assertTrue("Allocation counting is not available", Debug.getThreadAllocCount() > 0);
+
+		final AbsDrawerLayout layout = GestureReplayTest.createLayout(getInstrumentation(), new DrawerLayout(getInstrumentation()
+				.getTargetContext()), Gravity.LEFT, Gravity.RIGHT);
+		getInstrumentation().runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				layout.setDrawerSlideCoalescing(true);
+				layout.setAllocationCheckEnabled(true);
+			}
+		});
+
+		final GestureReplayer replayer = new GestureReplayer(getInstrumentation(), layout);
+		final GestureTrace open = GestureReplayTest.drag(1, HEIGHT / 2, WIDTH / 2, HEIGHT / 2, 10, 16);
+		final GestureTrace close = GestureReplayTest.drag(WIDTH / 2, HEIGHT / 2, 1, HEIGHT / 2, 10, 16);
+
+		// The first gestures size the helper's tracking state.
+		replayer.replay(open);
+		replayer.replay(close);
+		final int warmupViolations = layout.getAllocationViolationCount();
+
+		replayer.replay(open);
+		assertTrue(replayer.getOffsetAfterEvent(replayer.getEventCount() - 2, 0) > 0);
+		assertEquals(1.f, replayer.getFinalOffset(0), 0.01f);
+		replayer.replay(close);
+		assertEquals(0.f, replayer.getFinalOffset(0), 0.01f);
+		assertEquals("Drag moves or settle frames allocated", warmupViolations, layout.getAllocationViolationCount());
+	}
+}
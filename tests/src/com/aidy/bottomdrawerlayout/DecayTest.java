@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import junit.framework.TestCase;
+
+@SmallTest
+public class DecayTest extends TestCase {
+	private static final float DISTANCE = 600.f;
+	private static final float DT = 0.0005f; // s
+
+	private final DrawerSettleEngine.Decay mDecay = new DrawerSettleEngine.Decay();
+
+	public void testLeavesAtReleaseVelocity() {
+		final float[] velocities = { 0, 1000, 3000, 6000, 9000, 24000, 40000 };
+		for (float velocity : velocities) {
+			assertEquals("Release at " + velocity, velocity, initialVelocity(DISTANCE, velocity), velocity * 0.01f + 1);
+			assertEquals("Release at " + -velocity, -velocity, initialVelocity(-DISTANCE, -velocity), velocity * 0.01f + 1);
+		}
+	}
+
+	public void testNoFlingEasesInAndArrives() {
+		float last = 0;
+		for (float t = 0; t < 1.f; t += 0.016f) {
+			final float offset = mDecay.offsetAt(DISTANCE, 0, t);
+			assertTrue("Went back at " + t, offset >= last);
+			last = offset;
+		}
+		assertEquals(DISTANCE, last, 0.5f);
+	}
+
+	public void testHarderFlingSettlesSooner() {
+		final float t = 0.2f;
+		final float slow = mDecay.offsetAt(DISTANCE, 3000, t);
+		final float fast = mDecay.offsetAt(DISTANCE, 9000, t);
+		assertTrue(fast > slow);
+		assertEquals(DISTANCE, DrawerSettleEngine.clampOffset(mDecay.offsetAt(DISTANCE, 40000, t), DISTANCE), 0.5f);
+	}
+
+	public void testMinFrictionIsBounded() {
+		try {
+			new DrawerSettleEngine.Decay(DrawerSettleEngine.Decay.MAX_FRICTION + 1);
+			fail("Accepted friction above the maximum");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	private float initialVelocity(float distance, float velocity) {
+		// Two step difference, so that the curve's acceleration cancels out
+		return (4 * mDecay.offsetAt(distance, velocity, DT) - mDecay.offsetAt(distance, velocity, 2 * DT)) / (2 * DT);
+	}
+}
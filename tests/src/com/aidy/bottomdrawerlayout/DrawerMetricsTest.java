@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.os.SystemClock;
+import android.test.suitebuilder.annotation.SmallTest;
+
+import junit.framework.TestCase;
+
+@SmallTest
+public class DrawerMetricsTest extends TestCase {
+	private DrawerMetrics mMetrics;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		mMetrics = new DrawerMetrics();
+	}
+
+	public void testDragRecordsTouchLatency() {
+		mMetrics.onTouchDown(SystemClock.uptimeMillis());
+		mMetrics.onStateChanged(ViewDragHelper.STATE_DRAGGING, false);
+		mMetrics.onDrawerMoved();
+		mMetrics.onTouchUp();
+		mMetrics.onStateChanged(ViewDragHelper.STATE_IDLE, true);
+		assertEquals(DrawerMetrics.SESSION_DRAG, mMetrics.getLastSessionType());
+		assertTrue(mMetrics.getLastSessionTouchLatency() >= 0);
+	}
+
+	public void testPeekRecordsTouchLatency() {
+		mMetrics.onTouchDown(SystemClock.uptimeMillis());
+		mMetrics.onPeek();
+		mMetrics.onStateChanged(ViewDragHelper.STATE_SETTLING, false);
+		mMetrics.onDrawerMoved();
+		mMetrics.onStateChanged(ViewDragHelper.STATE_IDLE, true);
+		assertTrue(mMetrics.getLastSessionTouchLatency() >= 0);
+	}
+
+	public void testTapIsNotChargedToLaterOpen() {
+		mMetrics.onTouchDown(SystemClock.uptimeMillis());
+		mMetrics.onTouchUp();
+		mMetrics.onStateChanged(ViewDragHelper.STATE_SETTLING, false);
+		mMetrics.onDrawerMoved();
+		mMetrics.onStateChanged(ViewDragHelper.STATE_IDLE, true);
+		assertEquals(DrawerMetrics.SESSION_OPEN, mMetrics.getLastSessionType());
+		assertEquals(-1, mMetrics.getLastSessionTouchLatency());
+	}
+
+	public void testOpenDuringTouchHasNoTouchLatency() {
+		mMetrics.onTouchDown(SystemClock.uptimeMillis());
+		mMetrics.onStateChanged(ViewDragHelper.STATE_SETTLING, false);
+		mMetrics.onDrawerMoved();
+		mMetrics.onStateChanged(ViewDragHelper.STATE_IDLE, true);
+		assertEquals(-1, mMetrics.getLastSessionTouchLatency());
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.os.SystemClock;
+import android.test.suitebuilder.annotation.SmallTest;
+
+import junit.framework.TestCase;
+
+@SmallTest
+public class DrawerTunerTest extends TestCase {
+	// Samples the tuner needs before it moves off a default
+	private static final int MIN_SAMPLES = 5;
+
+	private DrawerTuner mTuner;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		mTuner = new DrawerTuner();
+	}
+
+	public void testFlingVelocityWaitsForEnoughFlings() {
+		for (int i = 0; i < MIN_SAMPLES - 1; i++) {
+			mTuner.onViewReleased(3000);
+		}
+		assertEquals(DrawerTuner.DEFAULT_FLING_VELOCITY, mTuner.getMinFlingVelocity());
+		mTuner.onViewReleased(3000);
+		assertEquals(600.f, mTuner.getMinFlingVelocity(), 0.01f);
+	}
+
+	public void testClosingFlingsAreNotSampled() {
+		for (int i = 0; i < MIN_SAMPLES; i++) {
+			mTuner.onViewReleased(-3000);
+			mTuner.onViewReleased(0);
+		}
+		assertEquals(0.f, mTuner.getAverageReleaseVelocity());
+		assertEquals(DrawerTuner.DEFAULT_FLING_VELOCITY, mTuner.getMinFlingVelocity());
+	}
+
+	public void testFlingVelocityIsClamped() {
+		for (int i = 0; i < MIN_SAMPLES; i++) {
+			mTuner.onViewReleased(20000);
+		}
+		assertEquals(DrawerTuner.MAX_FLING_VELOCITY, mTuner.getMinFlingVelocity());
+
+		mTuner.reset();
+		for (int i = 0; i < MIN_SAMPLES; i++) {
+			mTuner.onViewReleased(500);
+		}
+		assertEquals(DrawerTuner.MIN_FLING_VELOCITY, mTuner.getMinFlingVelocity());
+	}
+
+	public void testPeekDelayWaitsForEnoughEdgeDrags() {
+		for (int i = 0; i < MIN_SAMPLES - 1; i++) {
+			edgeDrag(5000);
+		}
+		assertEquals(DrawerTuner.DEFAULT_PEEK_DELAY, mTuner.getPeekDelay());
+		edgeDrag(5000);
+		assertEquals(DrawerTuner.MAX_PEEK_DELAY, mTuner.getPeekDelay());
+	}
+
+	public void testQuickEdgeDragsShortenPeekDelayToMinimum() {
+		for (int i = 0; i < MIN_SAMPLES; i++) {
+			edgeDrag(0);
+		}
+		assertEquals(DrawerTuner.MIN_PEEK_DELAY, mTuner.getPeekDelay());
+	}
+
+	public void testFalseTriggersNarrowEdgeAfterEnoughGestures() {
+		for (int i = 0; i < MIN_SAMPLES - 1; i++) {
+			falseTrigger();
+		}
+		assertEquals(DrawerTuner.DEFAULT_EDGE_SIZE, mTuner.getEdgeSize());
+		assertEquals(DrawerTuner.DEFAULT_PEEK_DELAY, mTuner.getPeekDelay());
+		falseTrigger();
+		assertEquals(MIN_SAMPLES, mTuner.getEdgeGestureCount());
+		assertEquals(DrawerTuner.MIN_EDGE_SIZE, mTuner.getEdgeSize());
+		assertEquals(DrawerTuner.MAX_PEEK_DELAY, mTuner.getPeekDelay());
+	}
+
+	private void edgeDrag(long slopMillis) {
+		mTuner.onTouchDown(SystemClock.uptimeMillis() - slopMillis);
+		mTuner.onEdgeTouched();
+		mTuner.onEdgeDragStarted();
+	}
+
+	private void falseTrigger() {
+		mTuner.onTouchDown(SystemClock.uptimeMillis());
+		mTuner.onEdgeTouched();
+		mTuner.onPeek();
+		mTuner.onTouchUp();
+		mTuner.onStateChanged(ViewDragHelper.STATE_IDLE, false);
+	}
+}
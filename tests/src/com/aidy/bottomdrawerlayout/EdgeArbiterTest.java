@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import junit.framework.TestCase;
+
+@SmallTest
+public class EdgeArbiterTest extends TestCase {
+	private static final float DECISIVE_LEAD = 8;
+	private static final int POINTER_ID = 0;
+	private static final long DOWN_TIME = 1000;
+
+	private EdgeArbiter mArbiter;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		mArbiter = new EdgeArbiter(DECISIVE_LEAD);
+	}
+
+	public void testSingleEdgeIsNotArbitrated() {
+		mArbiter.onDown(POINTER_ID, 0, 500, DOWN_TIME);
+		assertFalse(mArbiter.start(POINTER_ID, ViewDragHelper.EDGE_LEFT));
+		assertFalse(mArbiter.isArbitrating(POINTER_ID));
+	}
+
+	public void testClearLeadWins() {
+		startCorner(0, 0, ViewDragHelper.EDGE_LEFT | ViewDragHelper.EDGE_TOP);
+		assertEquals(ViewDragHelper.EDGE_TOP, mArbiter.addSample(1, 10, DOWN_TIME + 8));
+		assertFalse(mArbiter.isArbitrating(POINTER_ID));
+	}
+
+	public void testCornerHoldHasNoWinnerUntilDecided() {
+		startCorner(0, 0, ViewDragHelper.EDGE_LEFT | ViewDragHelper.EDGE_TOP);
+		for (int i = 1; i <= EdgeArbiter.MAX_SAMPLES + 2; i++) {
+			assertEquals(0, mArbiter.addSample(0, 0, DOWN_TIME + i * 8));
+		}
+		assertTrue(mArbiter.isArbitrating(POINTER_ID));
+		assertEquals(ViewDragHelper.EDGE_LEFT, mArbiter.decide());
+		assertEquals(ViewDragHelper.EDGE_LEFT, mArbiter.getWinner());
+		assertFalse(mArbiter.isArbitrating(POINTER_ID));
+	}
+
+	public void testDecideBreaksTiesLeftRightTopBottom() {
+		startCorner(1000, 1600, ViewDragHelper.EDGE_RIGHT | ViewDragHelper.EDGE_BOTTOM);
+		assertEquals(ViewDragHelper.EDGE_RIGHT, mArbiter.decide());
+
+		startCorner(1000, 0, ViewDragHelper.EDGE_TOP | ViewDragHelper.EDGE_BOTTOM);
+		assertEquals(ViewDragHelper.EDGE_TOP, mArbiter.decide());
+	}
+
+	public void testDriftAwayFromEveryEdgeIsDecidedByScore() {
+		startCorner(0, 0, ViewDragHelper.EDGE_LEFT | ViewDragHelper.EDGE_TOP);
+		for (int i = 1; i <= EdgeArbiter.MAX_SAMPLES; i++) {
+			// Sliding off the corner, more slowly upwards than leftwards
+			assertEquals(0, mArbiter.addSample(-2 * i, -i, DOWN_TIME + i * 8));
+		}
+		assertEquals(ViewDragHelper.EDGE_TOP, mArbiter.decide());
+	}
+
+	public void testResetStopsArbitration() {
+		startCorner(0, 0, ViewDragHelper.EDGE_LEFT | ViewDragHelper.EDGE_TOP);
+		mArbiter.reset();
+		assertFalse(mArbiter.isArbitrating(POINTER_ID));
+		assertEquals(0, mArbiter.decide());
+	}
+
+	private void startCorner(float x, float y, int edges) {
+		mArbiter.onDown(POINTER_ID, x, y, DOWN_TIME);
+		assertTrue(mArbiter.start(POINTER_ID, edges));
+		assertTrue(mArbiter.isArbitrating(POINTER_ID));
+	}
+}
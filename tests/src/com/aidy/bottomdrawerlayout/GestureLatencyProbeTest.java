@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import junit.framework.TestCase;
+
+@SmallTest
+public class GestureLatencyProbeTest extends TestCase {
+	private GestureLatencyProbe mProbe;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		mProbe = new GestureLatencyProbe();
+	}
+
+	public void testDragIsCounted() {
+		mProbe.onDown(1000);
+		mProbe.mark(GestureLatencyProbe.STAGE_SLOP);
+		mProbe.mark(GestureLatencyProbe.STAGE_CAPTURED);
+		mProbe.mark(GestureLatencyProbe.STAGE_FIRST_MOVE);
+		mProbe.onUp();
+		mProbe.mark(GestureLatencyProbe.STAGE_FIRST_DRAW);
+		assertEquals(1, mProbe.getGestureCount());
+		assertEquals(1, mProbe.getStageLatencies(GestureLatencyProbe.STAGE_FIRST_DRAW).getCount());
+	}
+
+	public void testTapsAreNotCounted() {
+		mProbe.onDown(1000);
+		mProbe.onUp();
+		mProbe.onDown(2000);
+		mProbe.onUp();
+		mProbe.onDown(3000);
+		assertEquals(0, mProbe.getGestureCount());
+	}
+
+	public void testMoveAfterTapIsNotTimedAgainstIt() {
+		mProbe.onDown(1000);
+		mProbe.onUp();
+		// A programmatic open after the tap.
+		mProbe.mark(GestureLatencyProbe.STAGE_FIRST_MOVE);
+		mProbe.mark(GestureLatencyProbe.STAGE_FIRST_DRAW);
+		assertEquals(0, mProbe.getGestureCount());
+		assertEquals(0, mProbe.getStageLatencies(GestureLatencyProbe.STAGE_FIRST_MOVE).getCount());
+	}
+
+	public void testUndrawnDragIsCountedAtNextDown() {
+		mProbe.onDown(1000);
+		mProbe.mark(GestureLatencyProbe.STAGE_FIRST_MOVE);
+		mProbe.onUp();
+		mProbe.onDown(2000);
+		assertEquals(1, mProbe.getGestureCount());
+	}
+
+	public void testRepeatedDownKeepsGesture() {
+		mProbe.onDown(1000);
+		mProbe.mark(GestureLatencyProbe.STAGE_EDGE);
+		mProbe.onDown(1000);
+		assertTrue(mProbe.getStageNanos(GestureLatencyProbe.STAGE_EDGE) >= 0);
+	}
+}
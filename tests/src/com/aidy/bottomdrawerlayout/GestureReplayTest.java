@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.test.suitebuilder.annotation.MediumTest;
+import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+
+/**
+ * Replays scripted drags against each drawer layout and checks where the
+ * drawers end up.
+ */
+@MediumTest
+public class GestureReplayTest extends InstrumentationTestCase {
+	private static final String TAG = "GestureReplayTest";
+
+	static final int WIDTH = 1000;
+	static final int HEIGHT = 1600;
+
+	// Drawer edge indices, in the order the layouts index their edges
+	private static final int LEFT = 0;
+	private static final int RIGHT = 1;
+	private static final int TOP = 0;
+	private static final int BOTTOM = 1;
+	private static final int ALL_TOP = 2;
+	private static final int ALL_BOTTOM = 3;
+
+	private static final int[] POINTER_ID = { 0 };
+
+	private AbsDrawerLayout mLayout;
+
+	public void testFlingFromLeftEdgeOpensLeftDrawer() {
+		final GestureReplayer replayer = replay(createLayout(new DrawerLayout(getContext()), Gravity.LEFT, Gravity.RIGHT),
+				drag(1, HEIGHT / 2, WIDTH / 2, HEIGHT / 2, 10, 16));
+		assertTrue(replayer.getOffsetAfterEvent(replayer.getEventCount() - 2, LEFT) > 0);
+		assertSettled(replayer);
+		assertEquals(1.f, replayer.getFinalOffset(LEFT), 0.01f);
+		assertEquals(0.f, replayer.getFinalOffset(RIGHT), 0.01f);
+		assertTrue(mLayout.isDrawerOpen(Gravity.LEFT));
+	}
+
+	public void testFlingFromRightEdgeOpensRightDrawer() {
+		final GestureReplayer replayer = replay(createLayout(new DrawerLayout(getContext()), Gravity.LEFT, Gravity.RIGHT),
+				drag(WIDTH - 2, HEIGHT / 2, WIDTH / 2, HEIGHT / 2, 10, 16));
+		assertSettled(replayer);
+		assertEquals(0.f, replayer.getFinalOffset(LEFT), 0.01f);
+		assertEquals(1.f, replayer.getFinalOffset(RIGHT), 0.01f);
+	}
+
+	public void testSlowShortDragSettlesClosed() {
+		final GestureReplayer replayer = replay(createLayout(new DrawerLayout(getContext()), Gravity.LEFT, Gravity.RIGHT),
+				drag(1, HEIGHT / 2, WIDTH / 8, HEIGHT / 2, 20, 50));
+		assertTrue(replayer.getOffsetAfterEvent(replayer.getEventCount() - 2, LEFT) > 0);
+		assertSettled(replayer);
+		assertEquals(0.f, replayer.getFinalOffset(LEFT), 0.01f);
+		assertFalse(mLayout.isDrawerVisible(Gravity.LEFT));
+	}
+
+	public void testSettleMovesOneWay() {
+		final GestureReplayer replayer = replay(createLayout(new DrawerLayout(getContext()), Gravity.LEFT, Gravity.RIGHT),
+				drag(1, HEIGHT / 2, WIDTH / 3, HEIGHT / 2, 6, 16));
+		assertSettled(replayer);
+		float last = replayer.getOffsetAfterEvent(replayer.getEventCount() - 1, LEFT);
+		for (int i = 0; i < replayer.getSampleCount(); i++) {
+			final float offset = replayer.getOffsetAtSample(i, LEFT);
+			assertTrue("Sample " + i + " went back from " + last + " to " + offset, offset >= last);
+			last = offset;
+		}
+	}
+
+	public void testOtherDrawerSlidesWhileHelperIsBusy() {
+		final AbsDrawerLayout layout = createLayout(new DrawerLayout(getContext()), Gravity.LEFT, Gravity.RIGHT);
+		final GestureReplayer replayer = new GestureReplayer(getInstrumentation(), layout);
+		getInstrumentation().runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				layout.openDrawer(Gravity.RIGHT);
+			}
+		});
+		replayer.settle();
+		assertEquals(1.f, replayer.getFinalOffset(RIGHT), 0.01f);
+
+		final float[] rightOffset = new float[1];
+		getInstrumentation().runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				// The helper settles the left drawer, so the right one has to
+				// slide on its own.
+				layout.openDrawer(Gravity.LEFT);
+				layout.closeDrawer(Gravity.RIGHT);
+				rightOffset[0] = layout.getDrawerViewOffset(layout.findDrawerWithGravity(Gravity.RIGHT));
+			}
+		});
+		assertEquals(1.f, rightOffset[0], 0.01f);
+		replayer.settle();
+		assertSettled(replayer);
+		boolean slid = false;
+		for (int i = 0; i < replayer.getSampleCount(); i++) {
+			final float offset = replayer.getOffsetAtSample(i, RIGHT);
+			slid |= offset > 0 && offset < 1;
+		}
+		assertTrue("Right drawer jumped closed", slid);
+		assertEquals(1.f, replayer.getFinalOffset(LEFT), 0.01f);
+		assertEquals(0.f, replayer.getFinalOffset(RIGHT), 0.01f);
+	}
+
+	public void testFlingFromBottomEdgeOpensBottomDrawer() {
+		final GestureReplayer replayer = replay(
+				createLayout(new BottomDrawerLayout(getContext()), Gravity.TOP, Gravity.BOTTOM),
+				drag(WIDTH / 2, HEIGHT - 2, WIDTH / 2, HEIGHT / 2, 10, 16));
+		assertSettled(replayer);
+		assertEquals(0.f, replayer.getFinalOffset(TOP), 0.01f);
+		assertEquals(1.f, replayer.getFinalOffset(BOTTOM), 0.01f);
+		assertTrue(mLayout.isDrawerOpen(Gravity.BOTTOM));
+	}
+
+	public void testFlingOpensOnlyTheDraggedDrawer() {
+		final GestureReplayer replayer = replay(
+				createLayout(new AllDrawerLayout(getContext()), Gravity.LEFT, Gravity.RIGHT, Gravity.TOP, Gravity.BOTTOM),
+				drag(WIDTH / 2, 1, WIDTH / 2, HEIGHT / 2, 10, 16));
+		assertSettled(replayer);
+		assertEquals(0.f, replayer.getFinalOffset(LEFT), 0.01f);
+		assertEquals(0.f, replayer.getFinalOffset(RIGHT), 0.01f);
+		assertEquals(1.f, replayer.getFinalOffset(ALL_TOP), 0.01f);
+		assertEquals(0.f, replayer.getFinalOffset(ALL_BOTTOM), 0.01f);
+	}
+
+	public void testEveryEventIsTimed() {
+		final GestureTrace trace = drag(1, HEIGHT / 2, WIDTH / 2, HEIGHT / 2, 10, 16);
+		final GestureReplayer replayer = replay(createLayout(new DrawerLayout(getContext()), Gravity.LEFT, Gravity.RIGHT), trace);
+		assertEquals(trace.size(), replayer.getEventCount());
+		for (int i = 0; i < replayer.getEventCount(); i++) {
+			assertTrue(replayer.getEventNanos(i) > 0);
+		}
+		assertTrue(replayer.getEventNanosPercentile(0.5f) <= replayer.getEventNanosPercentile(1.f));
+		replayer.report(TAG);
+	}
+
+	private Context getContext() {
+		return getInstrumentation().getTargetContext();
+	}
+
+	private GestureReplayer replay(AbsDrawerLayout layout, GestureTrace trace) {
+		final GestureReplayer replayer = new GestureReplayer(getInstrumentation(), layout);
+		replayer.replay(trace);
+		return replayer;
+	}
+
+	private static void assertSettled(GestureReplayer replayer) {
+		assertFalse("Still settling after " + replayer.getSampleCount() + " samples", replayer.isSettling());
+	}
+
+	private AbsDrawerLayout createLayout(AbsDrawerLayout layout, int... gravities) {
+		mLayout = createLayout(getInstrumentation(), layout, gravities);
+		return mLayout;
+	}
+
+	/**
+	 * Add a content view and a drawer along each of the given edges, then
+	 * measure and lay the layout out at {@link #WIDTH} by {@link #HEIGHT}.
+	 */
+	static AbsDrawerLayout createLayout(Instrumentation instrumentation, final AbsDrawerLayout layout, final int... gravities) {
+		instrumentation.runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				final Context context = layout.getContext();
+				layout.addView(new View(context), new AbsDrawerLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+						ViewGroup.LayoutParams.MATCH_PARENT));
+				for (int gravity : gravities) {
+					layout.addView(new View(context), new AbsDrawerLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+							ViewGroup.LayoutParams.MATCH_PARENT, gravity));
+				}
+				layout.measure(MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY),
+						MeasureSpec.makeMeasureSpec(HEIGHT, MeasureSpec.EXACTLY));
+				layout.layout(0, 0, WIDTH, HEIGHT);
+			}
+		});
+		return layout;
+	}
+
+	/**
+	 * Build a single pointer drag made of a down, a number of evenly spaced
+	 * moves and an up at the last move's position.
+	 */
+	static GestureTrace drag(float fromX, float fromY, float toX, float toY, int moves, long moveInterval) {
+		final GestureTrace trace = new GestureTrace(moves + 2);
+		final long start = SystemClock.uptimeMillis();
+		final float[] x = { fromX };
+		final float[] y = { fromY };
+		trace.addEvent(start, MotionEvent.ACTION_DOWN, 1, POINTER_ID, x, y);
+		for (int i = 1; i <= moves; i++) {
+			x[0] = fromX + (toX - fromX) * i / moves;
+			y[0] = fromY + (toY - fromY) * i / moves;
+			trace.addEvent(start + i * moveInterval, MotionEvent.ACTION_MOVE, 1, POINTER_ID, x, y);
+		}
+		trace.addEvent(start + moves * moveInterval, MotionEvent.ACTION_UP, 1, POINTER_ID, x, y);
+		return trace;
+	}
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import java.util.Arrays;
+
+import android.app.Instrumentation;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * GestureReplayer feeds a {@link GestureTrace} to a drawer layout and records
+ * how long each event took to dispatch and where every drawer was afterwards.
+ * It then samples the drawers while the resulting settle runs, so that a
+ * replay can be checked against expected drawer states and offsets and used as
+ * a repeatable dispatch latency benchmark.
+ *
+ * <p>
+ * Replays are driven from the instrumentation thread. Every event is
+ * dispatched on the main thread with its recorded event time, back to back, so
+ * drag tracking and fling velocities do not depend on how fast the device is.
+ * The settle runs on the layout's own frame callbacks and is sampled every
+ * {@link #SAMPLE_INTERVAL} until the layout reports
+ * {@link AbsDrawerLayout#STATE_IDLE} again.
+ * </p>
+ */
+public class GestureReplayer {
+	/**
+	 * Time between settle samples, in milliseconds.
+	 */
+	public static final long SAMPLE_INTERVAL = 16;
+
+	private static final int MAX_SETTLE_SAMPLES = 250;
+
+	private final Instrumentation mInstrumentation;
+	private final AbsDrawerLayout mLayout;
+	private final int mDrawerCount;
+
+	private GestureTrace mTrace;
+	private int mEventIndex;
+	private long[] mEventNanos = new long[0];
+	private boolean[] mEventHandled = new boolean[0];
+	private float[] mEventOffsets = new float[0];
+	private int mEventCount;
+
+	private final float[] mSampleOffsets;
+	private int mSampleCount;
+	private boolean mSettling;
+	private int mDrawerState;
+
+	private final Runnable mDispatchRunnable = new Runnable() {
+		@Override
+		public void run() {
+			final int i = mEventIndex;
+			final MotionEvent ev = mTrace.obtainMotionEvent(i);
+			final long start = System.nanoTime();
+			mEventHandled[i] = mLayout.dispatchTouchEvent(ev);
+			mEventNanos[i] = System.nanoTime() - start;
+			ev.recycle();
+			readOffsets(mEventOffsets, i * mDrawerCount);
+		}
+	};
+
+	private final Runnable mSampleRunnable = new Runnable() {
+		@Override
+		public void run() {
+			mSettling = mDrawerState != AbsDrawerLayout.STATE_IDLE;
+			readOffsets(mSampleOffsets, mSampleCount * mDrawerCount);
+		}
+	};
+
+	/**
+	 * @param instrumentation
+	 *            Instrumentation used to run on the layout's main thread
+	 * @param layout
+	 *            Layout that receives the replayed events. It must have been
+	 *            measured and laid out, and be idle.
+	 */
+	public GestureReplayer(Instrumentation instrumentation, AbsDrawerLayout layout) {
+		if (instrumentation == null || layout == null) {
+			throw new IllegalArgumentException("Instrumentation and layout may not be null");
+		}
+		mInstrumentation = instrumentation;
+		mLayout = layout;
+		mDrawerCount = layout.getDrawerEdgeCount();
+		mSampleOffsets = new float[MAX_SETTLE_SAMPLES * mDrawerCount];
+		layout.addDrawerListener(new AbsDrawerLayout.SimpleDrawerListener() {
+			@Override
+			public void onDrawerStateChanged(int newState) {
+				mDrawerState = newState;
+			}
+		});
+	}
+
+	/**
+	 * Dispatch every event of a trace to the layout, then sample the resulting
+	 * settle until the layout is idle. Results of a previous replay are
+	 * discarded. Must not be called on the main thread.
+	 *
+	 * @param trace
+	 *            Events to replay
+	 * @return The number of settle samples taken
+	 */
+	public int replay(GestureTrace trace) {
+		final int count = trace.size();
+		if (mEventNanos.length < count) {
+			mEventNanos = new long[count];
+			mEventHandled = new boolean[count];
+			mEventOffsets = new float[count * mDrawerCount];
+		}
+		mTrace = trace;
+		mEventCount = count;
+		for (int i = 0; i < count; i++) {
+			mEventIndex = i;
+			mInstrumentation.runOnMainSync(mDispatchRunnable);
+		}
+		mTrace = null;
+		return settle();
+	}
+
+	/**
+	 * Sample the drawers until the layout is idle, for example after moving
+	 * them with openDrawer or closeDrawer. Previous settle samples are
+	 * discarded. Must not be called on the main thread.
+	 *
+	 * @return The number of settle samples taken
+	 */
+	public int settle() {
+		mSampleCount = 0;
+		mSettling = true;
+		while (mSampleCount < MAX_SETTLE_SAMPLES) {
+			mInstrumentation.runOnMainSync(mSampleRunnable);
+			mSampleCount++;
+			if (!mSettling) {
+				break;
+			}
+			SystemClock.sleep(SAMPLE_INTERVAL);
+		}
+		return mSampleCount;
+	}
+
+	private void readOffsets(float[] out, int start) {
+		for (int d = 0; d < mDrawerCount; d++) {
+			final View drawer = mLayout.findDrawerWithGravity(mLayout.getDrawerEdgeGravity(d));
+			out[start + d] = drawer != null ? mLayout.getDrawerViewOffset(drawer) : 0;
+		}
+	}
+
+	/**
+	 * @return The number of drawer edges of the layout, in the order left,
+	 *         right, top, bottom of those it supports
+	 */
+	public int getDrawerCount() {
+		return mDrawerCount;
+	}
+
+	public int getEventCount() {
+		return mEventCount;
+	}
+
+	/**
+	 * @param index
+	 *            Index of the replayed event
+	 * @return The time dispatchTouchEvent took for the event, in nanoseconds
+	 */
+	public long getEventNanos(int index) {
+		return mEventNanos[checkEvent(index)];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the replayed event
+	 * @return The value the layout's dispatchTouchEvent returned
+	 */
+	public boolean isEventHandled(int index) {
+		return mEventHandled[checkEvent(index)];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the replayed event
+	 * @param drawer
+	 *            Drawer edge index
+	 * @return The drawer offset right after the event was dispatched
+	 */
+	public float getOffsetAfterEvent(int index, int drawer) {
+		return mEventOffsets[checkEvent(index) * mDrawerCount + checkDrawer(drawer)];
+	}
+
+	/**
+	 * @return The number of settle samples taken by the last replay
+	 */
+	public int getSampleCount() {
+		return mSampleCount;
+	}
+
+	/**
+	 * @param sample
+	 *            Index of the settle sample
+	 * @param drawer
+	 *            Drawer edge index
+	 * @return The drawer offset at the settle sample
+	 */
+	public float getOffsetAtSample(int sample, int drawer) {
+		if (sample < 0 || sample >= mSampleCount) {
+			throw new IndexOutOfBoundsException("Sample " + sample + " out of range; " + mSampleCount + " taken");
+		}
+		return mSampleOffsets[sample * mDrawerCount + checkDrawer(drawer)];
+	}
+
+	/**
+	 * @return true if the last replay was still settling when the sample
+	 *         budget ran out
+	 */
+	public boolean isSettling() {
+		return mSettling;
+	}
+
+	/**
+	 * @param drawer
+	 *            Drawer edge index
+	 * @return The drawer offset once the last replay had settled
+	 */
+	public float getFinalOffset(int drawer) {
+		if (mSampleCount > 0) {
+			return getOffsetAtSample(mSampleCount - 1, drawer);
+		}
+		return getOffsetAfterEvent(mEventCount - 1, drawer);
+	}
+
+	/**
+	 * @param fraction
+	 *            Percentile to compute, from 0 to 1
+	 * @return The event dispatch time at the given percentile, in nanoseconds
+	 */
+	public long getEventNanosPercentile(float fraction) {
+		if (fraction < 0 || fraction > 1) {
+			throw new IllegalArgumentException("Percentile must be in [0, 1]");
+		}
+		if (mEventCount == 0) {
+			return 0;
+		}
+		final long[] sorted = Arrays.copyOf(mEventNanos, mEventCount);
+		Arrays.sort(sorted);
+		return sorted[Math.min(mEventCount - 1, (int) (fraction * mEventCount))];
+	}
+
+	/**
+	 * Log a summary of the last replay.
+	 *
+	 * @param tag
+	 *            Log tag to use
+	 */
+	public void report(String tag) {
+		final StringBuilder offsets = new StringBuilder();
+		for (int d = 0; d < mDrawerCount; d++) {
+			offsets.append(d == 0 ? "" : ", ").append(getFinalOffset(d));
+		}
+		Log.d(tag, mEventCount + " events, dispatch p50 " + getEventNanosPercentile(0.5f) / 1000 + "us p90 "
+				+ getEventNanosPercentile(0.9f) / 1000 + "us max " + getEventNanosPercentile(1.f) / 1000 + "us; " + mSampleCount
+				+ " settle samples; final offsets [" + offsets + "]");
+	}
+
+	private int checkEvent(int index) {
+		if (index < 0 || index >= mEventCount) {
+			throw new IndexOutOfBoundsException("Event " + index + " out of range; " + mEventCount + " replayed");
+		}
+		return index;
+	}
+
+	private int checkDrawer(int drawer) {
+		if (drawer < 0 || drawer >= mDrawerCount) {
+			throw new IndexOutOfBoundsException("Drawer " + drawer + " out of range");
+		}
+		return drawer;
+	}
+}
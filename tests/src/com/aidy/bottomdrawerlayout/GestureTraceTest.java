@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.MotionEvent;
+
+import junit.framework.TestCase;
+
+@SmallTest
+public class GestureTraceTest extends TestCase {
+	private static final int POINTERS = GestureTrace.MAX_POINTERS + 1;
+
+	public void testMotionEventKeepsDownTime() {
+		final GestureTrace trace = new GestureTrace();
+		final MotionEvent ev = obtain(100, 140, MotionEvent.ACTION_MOVE, 1);
+		assertTrue(trace.addMotionEvent(ev));
+		ev.recycle();
+		assertEquals(100, trace.getDownTime(0));
+		assertEquals(140, trace.getEventTime(0));
+
+		final MotionEvent replayed = trace.obtainMotionEvent(0);
+		assertEquals(100, replayed.getDownTime());
+		assertEquals(140, replayed.getEventTime());
+		replayed.recycle();
+	}
+
+	public void testExtraPointersAreDropped() {
+		final GestureTrace trace = new GestureTrace();
+		final MotionEvent ev = obtain(100, 140, MotionEvent.ACTION_MOVE, POINTERS);
+		assertTrue(trace.addMotionEvent(ev));
+		ev.recycle();
+		assertEquals(GestureTrace.MAX_POINTERS, trace.getPointerCount(0));
+		for (int p = 0; p < GestureTrace.MAX_POINTERS; p++) {
+			assertEquals(p, trace.getPointerId(0, p));
+			assertEquals(10.f * p, trace.getX(0, p));
+		}
+	}
+
+	public void testPointerBeyondLimitIsSkipped() {
+		final GestureTrace trace = new GestureTrace();
+		final int action = MotionEvent.ACTION_POINTER_DOWN | (GestureTrace.MAX_POINTERS << MotionEvent.ACTION_POINTER_INDEX_SHIFT);
+		final MotionEvent ev = obtain(100, 140, action, POINTERS);
+		assertFalse(trace.addMotionEvent(ev));
+		ev.recycle();
+		assertEquals(0, trace.size());
+	}
+
+	public void testAddEventTakesDownTimeFromDown() {
+		final GestureTrace trace = new GestureTrace();
+		final int[] ids = { 0 };
+		final float[] coords = { 0 };
+		trace.addEvent(100, MotionEvent.ACTION_DOWN, 1, ids, coords, coords);
+		trace.addEvent(116, MotionEvent.ACTION_MOVE, 1, ids, coords, coords);
+		assertEquals(100, trace.getDownTime(1));
+	}
+
+	public void testAddEventRejectsTooManyPointers() {
+		final GestureTrace trace = new GestureTrace();
+		final int[] ids = new int[POINTERS];
+		final float[] coords = new float[POINTERS];
+		try {
+			trace.addEvent(100, MotionEvent.ACTION_MOVE, POINTERS, ids, coords, coords);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+	private static MotionEvent obtain(long downTime, long eventTime, int action, int pointerCount) {
+		final MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[pointerCount];
+		final MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[pointerCount];
+		for (int p = 0; p < pointerCount; p++) {
+			properties[p] = new MotionEvent.PointerProperties();
+			properties[p].id = p;
+			coords[p] = new MotionEvent.PointerCoords();
+			coords[p].x = 10.f * p;
+			coords[p].y = 20.f * p;
+		}
+		return MotionEvent.obtain(downTime, eventTime, action, pointerCount, properties, coords, 0, 0, 1.f, 1.f, 0, 0, 0, 0);
+	}
+}
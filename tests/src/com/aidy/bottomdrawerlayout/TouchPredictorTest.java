@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import junit.framework.TestCase;
+
+/**
+ * Drives the predictor with synthetic finger paths sampled at a fixed touch
+ * rate and checks how far the prediction trails the finger at the vsync that
+ * draws each sample.
+ */
+@SmallTest
+public class TouchPredictorTest extends TestCase {
+	private static final long NANOS_PER_MS = 1000000;
+	private static final long FRAME_INTERVAL = 16666667; // ns
+	private static final long FRAME_TIME = 1003500000; // ns, off the touch sample grid
+	private static final long START = 1000; // ms
+	private static final long TOUCH_INTERVAL = 8; // ms
+	private static final int SAMPLES = 20;
+
+	private TouchPredictor mPredictor;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		mPredictor = new TouchPredictor();
+	}
+
+	public void testNextFrameTimeIsOnTheVsyncGrid() {
+		assertEquals(FRAME_TIME + FRAME_INTERVAL, TouchPredictor.nextFrameTime(FRAME_TIME, FRAME_TIME, FRAME_INTERVAL));
+		assertEquals(FRAME_TIME + FRAME_INTERVAL, TouchPredictor.nextFrameTime(FRAME_TIME + 1, FRAME_TIME, FRAME_INTERVAL));
+		assertEquals(FRAME_TIME + 3 * FRAME_INTERVAL,
+				TouchPredictor.nextFrameTime(FRAME_TIME + 2 * FRAME_INTERVAL + 5, FRAME_TIME, FRAME_INTERVAL));
+		// Events from before the last reported frame
+		assertEquals(FRAME_TIME, TouchPredictor.nextFrameTime(FRAME_TIME - 1, FRAME_TIME, FRAME_INTERVAL));
+		assertEquals(FRAME_TIME, TouchPredictor.nextFrameTime(FRAME_TIME - FRAME_INTERVAL, FRAME_TIME, FRAME_INTERVAL));
+		assertEquals(FRAME_TIME - FRAME_INTERVAL,
+				TouchPredictor.nextFrameTime(FRAME_TIME - FRAME_INTERVAL - 1, FRAME_TIME, FRAME_INTERVAL));
+	}
+
+	public void testConstantVelocityHasNoLag() {
+		final float velocity = 1.5f; // px/ms
+		for (int i = 0; i < SAMPLES; i++) {
+			final long time = START + i * TOUCH_INTERVAL;
+			mPredictor.addSample(time, 100 + velocity * (time - START), 200);
+			final long target = TouchPredictor.nextFrameTime(time * NANOS_PER_MS, FRAME_TIME, FRAME_INTERVAL);
+			final boolean predicted = mPredictor.predict(target);
+			assertEquals("Sample " + i, i >= 2, predicted);
+			if (predicted) {
+				final float expected = 100 + velocity * (target - START * NANOS_PER_MS) / NANOS_PER_MS;
+				assertEquals("Sample " + i, expected, mPredictor.getPredictedX(), 0.05f);
+				assertEquals(200.f, mPredictor.getPredictedY());
+			}
+		}
+	}
+
+	public void testAccelerationLagsByFitWindow() {
+		final float velocity = 1.f; // px/ms
+		final float acceleration = 0.02f; // px/ms^2
+		for (int i = 0; i < SAMPLES; i++) {
+			final long time = START + i * TOUCH_INTERVAL;
+			final float x = position(velocity, acceleration, time - START);
+			mPredictor.addSample(time, x, 0);
+			final long target = TouchPredictor.nextFrameTime(time * NANOS_PER_MS, FRAME_TIME, FRAME_INTERVAL);
+			if (!mPredictor.predict(target) || i < 3) {
+				// Before the third interval the lead is capped by the
+				// distance travelled.
+				continue;
+			}
+			// The least-squares slope of a parabola sampled at even steps is
+			// its velocity at the mean sample time, up to 7 samples back.
+			final float lead = (float) (target - time * NANOS_PER_MS) / NANOS_PER_MS;
+			final float meanTime = time - START - Math.min(i, 6) * TOUCH_INTERVAL / 2.f;
+			final float expected = x + (velocity + acceleration * meanTime) * lead;
+			assertEquals("Sample " + i, expected, mPredictor.getPredictedX(), 0.05f);
+
+			final float finger = position(velocity, acceleration, time - START + lead);
+			assertTrue("Sample " + i, finger - mPredictor.getPredictedX() < finger - x);
+		}
+	}
+
+	public void testLeadIsLimitedToDistanceTravelled() {
+		mPredictor.addSample(START, 0, 0);
+		mPredictor.addSample(START + 1, 1, 0);
+		mPredictor.addSample(START + 2, 2, 0);
+		assertTrue(mPredictor.predict((START + 40) * NANOS_PER_MS));
+		assertEquals(4.f, mPredictor.getPredictedX(), 0.001f);
+	}
+
+	public void testReversalDropsLead() {
+		// Moving back towards where the window started
+		final float[] x = { 0, 50, 40, 30, 20, 10 };
+		for (int i = 0; i < x.length; i++) {
+			mPredictor.addSample(START + i * TOUCH_INTERVAL, x[i], 0);
+		}
+		mPredictor.predict((START + 60) * NANOS_PER_MS);
+		assertEquals(10.f, mPredictor.getPredictedX());
+	}
+
+	public void testTargetBeforeNewestSampleIsNotExtrapolated() {
+		for (int i = 0; i < 4; i++) {
+			mPredictor.addSample(START + i * TOUCH_INTERVAL, i * 10, 0);
+		}
+		assertFalse(mPredictor.predict((START + 3 * TOUCH_INTERVAL) * NANOS_PER_MS));
+		assertEquals(30.f, mPredictor.getPredictedX());
+	}
+
+	private static float position(float velocity, float acceleration, float t) {
+		return velocity * t + acceleration * t * t / 2;
+	}
+}
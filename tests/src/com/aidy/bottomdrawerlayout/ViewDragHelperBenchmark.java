@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.aidy.bottomdrawerlayout;
+
+import android.content.Context;
+import android.os.Debug;
+import android.test.InstrumentationTestCase;
+import android.test.PerformanceTestCase;
+import android.test.suitebuilder.annotation.LargeTest;
+import android.util.Log;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.widget.FrameLayout;
+
+/**
+ * Microbenchmarks for the touch processing and settle math of
+ * {@link ViewDragHelper}. Each benchmark reports nanoseconds and allocations
+ * per operation to the log and as a performance intermediate, and fails if an
+ * operation on the per-event path allocates.
+ *
+ * <p>
+ * The touch benchmarks feed a recorded drag, built with
+ * {@link GestureReplayTest#drag}, to a helper driving a plain view.
+ * </p>
+ */
+@LargeTest
+public class ViewDragHelperBenchmark extends InstrumentationTestCase implements PerformanceTestCase {
+	private static final String TAG = "ViewDragHelperBenchmark";
+
+	private static final int WARMUP_ITERATIONS = 10000;
+	private static final int ITERATIONS = 200000;
+	private static final int TRACE_ITERATIONS = 2000;
+
+	private static final int WIDTH = GestureReplayTest.WIDTH;
+	private static final int HEIGHT = GestureReplayTest.HEIGHT;
+	private static final int EDGE_SIZE = 60;
+	private static final int TOUCH_SLOP = 24;
+
+	/**
+	 * One operation of a benchmark.
+	 */
+	private abstract static class Op {
+		/**
+		 * @param i
+		 *            Iteration number
+		 * @return A value derived from the result, so the work is not
+		 *         optimized away
+		 */
+		abstract int run(int i);
+	}
+
+	private Intermediates mIntermediates;
+	private int mSink;
+
+	private MotionEvent[] mEvents;
+	private ViewDragHelper mHelper;
+
+	@Override
+	public int startPerformance(Intermediates intermediates) {
+		mIntermediates = intermediates;
+		return 0;
+	}
+
+	@Override
+	public boolean isPerformanceOnly() {
+		return true;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		Debug.startAllocCounting();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		Debug.stopAllocCounting();
+		if (mEvents != null) {
+			for (MotionEvent ev : mEvents) {
+				ev.recycle();
+			}
+			mEvents = null;
+		}
+		super.tearDown();
+	}
+
+	public void testClampMag() {
+		bench("clampMag", ITERATIONS, new Op() {
+			@Override
+			int run(int i) {
+				return ViewDragHelper.clampMag((i & 0x3fff) - 0x2000, 100, 6000);
+			}
+		});
+	}
+
+	public void testComputeAxisDuration() {
+		bench("computeAxisDuration", ITERATIONS, new Op() {
+			@Override
+			int run(int i) {
+				return ViewDragHelper.computeAxisDuration((i & 0x3ff) - 0x200, i & 0x1fff, WIDTH, WIDTH);
+			}
+		});
+	}
+
+	public void testComputeSettleDuration() {
+		bench("computeSettleDuration", ITERATIONS, new Op() {
+			@Override
+			int run(int i) {
+				return ViewDragHelper.computeSettleDuration((i & 0x3ff) - 0x200, 0, i & 0x1fff, 0, WIDTH, 0, WIDTH, 100, 8000);
+			}
+		});
+	}
+
+	public void testDistanceInfluenceForSnapDuration() {
+		bench("distanceInfluenceForSnapDuration", ITERATIONS, new Op() {
+			@Override
+			int run(int i) {
+				return (int) (1000 * ViewDragHelper.distanceInfluenceForSnapDuration((i & 0x3ff) / 1024.f));
+			}
+		});
+	}
+
+	public void testIsPastSlop() {
+		bench("isPastSlop", ITERATIONS, new Op() {
+			@Override
+			int run(int i) {
+				return ViewDragHelper.isPastSlop(i & 0x3f, (i >> 6) & 0x3f, true, true, TOUCH_SLOP) ? 1 : 0;
+			}
+		});
+	}
+
+	public void testGetEdgesTouched() {
+		bench("getEdgesTouched", ITERATIONS, new Op() {
+			@Override
+			int run(int i) {
+				return ViewDragHelper.getEdgesTouched(i % WIDTH, (i >> 4) % HEIGHT, 0, 0, WIDTH, HEIGHT, EDGE_SIZE);
+			}
+		});
+	}
+
+	public void testShouldInterceptTouchEvent() {
+		setUpTrace();
+		bench("shouldInterceptTouchEvent", TRACE_ITERATIONS, new Op() {
+			@Override
+			int run(int i) {
+				int intercepted = 0;
+				for (MotionEvent ev : mEvents) {
+					intercepted += mHelper.shouldInterceptTouchEvent(ev) ? 1 : 0;
+				}
+				mHelper.abort();
+				return intercepted;
+			}
+		});
+	}
+
+	public void testProcessTouchEvent() {
+		setUpTrace();
+		bench("processTouchEvent", TRACE_ITERATIONS, new Op() {
+			@Override
+			int run(int i) {
+				for (MotionEvent ev : mEvents) {
+					mHelper.processTouchEvent(ev);
+				}
+				mHelper.abort();
+				return mHelper.getViewDragState();
+			}
+		});
+	}
+
+	/**
+	 * Build a helper over a parent with one draggable child, and the events of
+	 * a recorded drag across it.
+	 */
+	private void setUpTrace() {
+		final Context context = getInstrumentation().getTargetContext();
+		final FrameLayout parent = new FrameLayout(context);
+		final View child = new View(context);
+		parent.addView(child);
+		parent.measure(MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY),
+				MeasureSpec.makeMeasureSpec(HEIGHT, MeasureSpec.EXACTLY));
+		parent.layout(0, 0, WIDTH, HEIGHT);
+
+		mHelper = ViewDragHelper.create(parent, new ViewDragHelper.Callback() {
+			@Override
+			public boolean tryCaptureView(View view, int pointerId) {
+				return view == child;
+			}
+
+			@Override
+			public int getViewHorizontalDragRange(View view) {
+				return WIDTH;
+			}
+
+			@Override
+			public int clampViewPositionHorizontal(View view, int left, int dx) {
+				return Math.max(-WIDTH, Math.min(left, WIDTH));
+			}
+		});
+
+		final GestureTrace trace = GestureReplayTest.drag(WIDTH / 4, HEIGHT / 2, WIDTH * 3 / 4, HEIGHT / 2, 30, 8);
+		mEvents = new MotionEvent[trace.size()];
+		for (int i = 0; i < mEvents.length; i++) {
+			mEvents[i] = trace.obtainMotionEvent(i);
+		}
+	}
+
+	/**
+	 * Run an operation, report its time and allocations per iteration and
+	 * check that it did not allocate.
+	 */
+	private void bench(String name, int iterations, Op op) {
+		int sink = 0;
+		for (int i = 0; i < Math.min(iterations, WARMUP_ITERATIONS); i++) {
+			sink += op.run(i);
+		}
+
+		Debug.resetThreadAllocCount();
+		final long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += op.run(i);
+		}
+		final long elapsed = System.nanoTime() - start;
+		final int allocations = Debug.getThreadAllocCount();
+		mSink += sink;
+
+		final float nanosPerOp = (float) elapsed / iterations;
+		final float allocationsPerOp = (float) allocations / iterations;
+		Log.d(TAG, name + ": " + nanosPerOp + " ns/op, " + allocationsPerOp + " allocations/op");
+		if (mIntermediates != null) {
+			mIntermediates.addIntermediate(name, elapsed / iterations);
+		}
+		assertEquals(name + " allocated", 0, allocations);
+	}
+}